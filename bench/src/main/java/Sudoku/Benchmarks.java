@@ -0,0 +1,62 @@
+package Sudoku;
+
+// For running JMH with the project's defaults
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks - the entry point of benchmarks.jar.
+ *
+ * It takes the usual JMH command line, but unless told otherwise it also runs the GC profiler, so every
+ * score comes with its allocation rate (gc.alloc.rate.norm is bytes allocated per operation), and writes
+ * the results to jmh-result.json for comparing runs.
+ *
+ * Usage: java -jar bench/target/benchmarks.jar [JMH options] [benchmark regex]
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public final class Benchmarks
+{
+	/* RESULT_FILE is where the results go unless the command line names another file
+	 */
+	private static final String RESULT_FILE = "jmh-result.json";
+
+	/**
+	 * No Benchmarks objects are needed; everything is static.
+	 */
+	private Benchmarks()
+	{
+	}
+
+	/**
+	 * The main method - for running the benchmarks.
+	 *
+	 * @param args - command line arguments, the same as org.openjdk.jmh.Main takes
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+			|| commandLine.shouldListResultFormats() || commandLine.shouldListWithParams())
+		{
+			// listing and help are left to JMH's own main
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+		if (commandLine.getProfilers().isEmpty())
+			options.addProfiler(GCProfiler.class);
+		if (!commandLine.getResultFormat().hasValue())
+			options.resultFormat(ResultFormatType.JSON);
+		if (!commandLine.getResult().hasValue())
+			options.result(RESULT_FILE);
+
+		new Runner(options.build()).run();
+	}
+}
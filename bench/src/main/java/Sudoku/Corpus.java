@@ -0,0 +1,67 @@
+package Sudoku;
+
+// For reading the puzzle files bundled with the benchmarks
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corpus - the fixed sets of puzzles the benchmarks solve, so results stay comparable from run to run.
+ *
+ * Each set is a resource file in the same one-puzzle-per-line format BatchSolver reads:
+ * "easy" needs no guessing, "hard" needs long chains of guesses, and "seventeen" has 17 clues each.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+final class Corpus
+{
+	/**
+	 * No Corpus objects are needed; everything is static.
+	 */
+	private Corpus()
+	{
+	}
+
+	/**
+	 * Reads a set of puzzles.
+	 *
+	 * @param name - the name of the set: easy, hard or seventeen
+	 * @return the puzzle lines, in file order
+	 */
+	static String[] load(String name) throws IOException, IllegalArgumentException
+	{
+		InputStream stream = Corpus.class.getResourceAsStream("corpus/" + name + ".txt");
+		if (stream == null)
+			throw new IllegalArgumentException("Invalid corpus name passed into Corpus.load(String): " + name);
+
+		List<String> puzzles = new ArrayList<String>();
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII)))
+		{
+			String line;
+			while ((line = in.readLine()) != null)
+				if (!BatchSolver.isSkipped(line))
+					puzzles.add(line.trim());
+		}
+		return puzzles.toArray(new String[0]);
+	}
+
+	/**
+	 * Reads one puzzle into a new Matrix.
+	 *
+	 * @param name - the name of the set
+	 * @param index - which puzzle of the set
+	 * @return a Matrix holding the puzzle
+	 */
+	static Matrix board(String name, int index) throws IOException, IllegalArgumentException
+	{
+		Matrix board = new Matrix();
+		if (!PuzzleFormat.parse(load(name)[index], board))
+			throw new IllegalArgumentException("Invalid puzzle in corpus " + name);
+		return board;
+	}
+}
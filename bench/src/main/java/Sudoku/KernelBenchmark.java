@@ -0,0 +1,129 @@
+package Sudoku;
+
+// For the benchmark harness
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * KernelBenchmark - measures checking a batch of solutions with each BoardKernel, against the old way of
+ * rebuilding a Matrix per solution and asking Sudoku.isAllowed about every square.
+ *
+ * The batch is BATCH_SIZE solutions of the corpus puzzles, repeated, with their puzzles as the givens. The
+ * fork is started with the Vector API module, so the vector kernel is the one getInstance gives.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmark
+{
+	/* BATCH_SIZE is the number of solutions checked per operation
+	 */
+	private static final int BATCH_SIZE = 1024;
+
+	/* kernel is the kernel measured: vector is whatever BoardKernel.getInstance gives
+	 * solutions and puzzles are the batch checked, and solutionLines and puzzleLines the same as lines
+	 * valid and masks are where the kernel's answers go
+	 * board is the Matrix rebuilt for every solution by the old way
+	 */
+	@Param({"scalar", "vector"})
+	private String kernel;
+	private BoardKernel boardKernel;
+	private BoardBatch solutions;
+	private BoardBatch puzzles;
+	private String[] solutionLines;
+	private String[] puzzleLines;
+	private boolean[] valid;
+	private int[] masks;
+	private Matrix board;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		boardKernel = kernel.equals("scalar") ? BoardKernel.scalar() : BoardKernel.getInstance();
+
+		List<String> corpus = new ArrayList<String>();
+		for (String name : new String[] {"easy", "hard", "seventeen"})
+			for (String puzzle : Corpus.load(name))
+				corpus.add(puzzle);
+
+		SudokuSolver solver = new PropagatingSolver(false);
+		board = new Matrix();
+		solutions = new BoardBatch(3, BATCH_SIZE);
+		puzzles = new BoardBatch(3, BATCH_SIZE);
+		solutionLines = new String[BATCH_SIZE];
+		puzzleLines = new String[BATCH_SIZE];
+		StringBuilder line = new StringBuilder(PuzzleFormat.LINE_LENGTH);
+		for (int i = 0; i < BATCH_SIZE; i++)
+		{
+			puzzleLines[i] = corpus.get(i % corpus.size());
+			PuzzleFormat.parse(puzzleLines[i], board);
+			puzzles.add(board);
+			if (!solver.solve(board))
+				throw new IllegalStateException("Corpus puzzle has no solution: " + puzzleLines[i]);
+			solutions.add(board);
+			line.setLength(0);
+			PuzzleFormat.format(board, line);
+			solutionLines[i] = line.toString();
+		}
+		valid = new boolean[BATCH_SIZE];
+		masks = new int[PuzzleFormat.LINE_LENGTH * puzzles.getCapacity()];
+	}
+
+	@Benchmark
+	public boolean[] validate()
+	{
+		boardKernel.validate(solutions, puzzles, valid);
+		return valid;
+	}
+
+	@Benchmark
+	public int[] candidates()
+	{
+		boardKernel.candidates(puzzles, masks);
+		return masks;
+	}
+
+	@Benchmark
+	public int matrixIsAllowed()
+	{
+		// the old way: each square is emptied in turn and its number checked against the rest of the board
+		int correct = 0;
+		for (int i = 0; i < BATCH_SIZE; i++)
+		{
+			PuzzleFormat.parse(puzzleLines[i], board);
+			boolean right = true;
+			for (int square = 0; square < PuzzleFormat.LINE_LENGTH && right; square++)
+			{
+				int row = square / 9;
+				int col = square % 9;
+				int val = PuzzleFormat.valueOf(solutionLines[i].charAt(square));
+				int given = board.getAt(row, col);
+				board.setAt(row, col, -1);
+				right = (given == -1 || given == val) && Sudoku.isAllowed(board, row, col, val);
+				board.setAt(row, col, val);
+			}
+			if (right)
+				correct++;
+		}
+		return correct;
+	}
+}
@@ -0,0 +1,82 @@
+package Sudoku;
+
+// For the benchmark harness
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * MatrixBenchmark - measures the Matrix accessors and Sudoku.isAllowed on a puzzle with some squares filled.
+ *
+ * Each benchmark sweeps the whole board (every row, column, box, or square and number), so the score is
+ * the cost of one full pass rather than of a single call.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark
+{
+	/* board is the first hard puzzle of the corpus
+	 * dimension is its number of rows and columns
+	 */
+	private Matrix board;
+	private int dimension;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		board = Corpus.board("hard", 0);
+		dimension = board.getDimension();
+	}
+
+	@Benchmark
+	public void getRowAt(Blackhole bh)
+	{
+		for (int row = 0; row < dimension; row++)
+			bh.consume(board.getRowAt(row));
+	}
+
+	@Benchmark
+	public void getColAt(Blackhole bh)
+	{
+		for (int col = 0; col < dimension; col++)
+			bh.consume(board.getColAt(col));
+	}
+
+	@Benchmark
+	public void getCellAt(Blackhole bh)
+	{
+		int boxSize = board.getBoxSize();
+		for (int row = 0; row < dimension; row += boxSize)
+			for (int col = 0; col < dimension; col += boxSize)
+				bh.consume(board.getCellAt(row, col));
+	}
+
+	@Benchmark
+	public int isAllowed()
+	{
+		int allowed = 0;
+		for (int row = 0; row < dimension; row++)
+			for (int col = 0; col < dimension; col++)
+				for (int val = 1; val <= dimension; val++)
+					if (Sudoku.isAllowed(board, row, col, val))
+						allowed++;
+		return allowed;
+	}
+}
@@ -0,0 +1,51 @@
+package Sudoku;
+
+// For the benchmark harness
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RenderBenchmark - measures Matrix.toString in each MatrixStyle, the call verbose solving makes on every step.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark
+{
+	/* style is the MatrixStyle the board is printed in
+	 * board is the first hard puzzle of the corpus
+	 */
+	@Param({"SIMPLE", "COMPLEX"})
+	private MatrixStyle style;
+	private Matrix board;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		board = Corpus.board("hard", 0);
+		board.setStyle(style);
+	}
+
+	@Benchmark
+	public String render()
+	{
+		return board.toString();
+	}
+}
@@ -0,0 +1,88 @@
+package Sudoku;
+
+// For the benchmark harness
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ServiceBenchmark - measures one SolverClient request to a SolverService in the same JVM, from a single
+ * puzzle up to a batch whose request and results are megabytes long.
+ *
+ * The big batch is far beyond any socket buffer, so it also checks that a client reads the results while it
+ * is still sending: if it did not, both ends would block writing and the benchmark would never finish.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark
+{
+	/* batch is the number of puzzles in each request, the easy corpus repeated
+	 * service and client are the two ends, and puzzles the request sent
+	 */
+	@Param({"1", "1000", "100000"})
+	private int batch;
+	private SolverService service;
+	private SolverClient client;
+	private List<String> puzzles;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		service = new SolverService(0);
+		Thread server = new Thread(() ->
+		{
+			try
+			{
+				service.serve();
+			}
+			catch (IOException ioe)
+			{
+				// closed by tearDown
+			}
+		}, "benchmark-service");
+		server.setDaemon(true);
+		server.start();
+		client = new SolverClient(service.getPort());
+
+		String[] easy = Corpus.load("easy");
+		puzzles = new ArrayList<String>(batch);
+		for (int i = 0; i < batch; i++)
+			puzzles.add(easy[i % easy.length]);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		client.close();
+		service.close();
+	}
+
+	@Benchmark
+	public List<String> solveAll() throws IOException
+	{
+		List<String> results = client.solveAll(puzzles, 0);
+		if (results.size() != batch || results.get(batch - 1).equals(BatchSolver.INVALID))
+			throw new IllegalStateException("The service answered " + results.size() + " of " + batch + " puzzles");
+		return results;
+	}
+}
@@ -0,0 +1,70 @@
+package Sudoku;
+
+// For the benchmark harness
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SolveBenchmark - measures a full solve of every puzzle in a corpus, parsing included, the way BatchSolver runs.
+ *
+ * The baseline search is left out of the default modes because the hard and 17-clue puzzles take it
+ * seconds each; run it with -p mode=BASELINE when comparing against it.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark
+{
+	/* mode is the name of the SolveMode used
+	 * corpus is the name of the puzzle set solved
+	 * puzzles holds the puzzle lines of that set
+	 * solver and board are reused for every puzzle, as in BatchSolver
+	 */
+	@Param({"PROPAGATING", "DANCING_LINKS", "FORK_JOIN"})
+	private String mode;
+	@Param({"easy", "hard", "seventeen"})
+	private String corpus;
+	private String[] puzzles;
+	private SudokuSolver solver;
+	private Matrix board;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		puzzles = Corpus.load(corpus);
+		solver = SolveMode.valueOf(mode).newSolver(false);
+		board = new Matrix();
+	}
+
+	@Benchmark
+	public int solveCorpus()
+	{
+		// the steps taken are returned so the work cannot be optimized away
+		int steps = 0;
+		for (String puzzle : puzzles)
+		{
+			PuzzleFormat.parse(puzzle, board);
+			if (!solver.solve(board))
+				throw new IllegalStateException("Corpus puzzle has no solution: " + puzzle);
+			steps += solver.getStepsTaken();
+		}
+		return steps;
+	}
+}
@@ -0,0 +1,62 @@
+package Sudoku;
+
+// For the benchmark harness
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SplitBenchmark - measures splitting a count into parts and then solving the same puzzle, with one
+ * PropagatingSolver and its transposition table shared by both.
+ *
+ * Splitting backtracks over every prefix without searching under it, so it must leave nothing in the table;
+ * if it stored those prefixes as dead ends, the solve afterwards would find no solution and the benchmark
+ * would fail.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SplitBenchmark
+{
+	/* PUZZLE is a sparse puzzle with one solution, whose first guesses leave dead ends and solutions alike
+	 * solver is reused for every operation, table and all, and board is parsed again each time
+	 */
+	private static final String PUZZLE =
+		"4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+	private PropagatingSolver solver;
+	private Matrix board;
+
+	@Setup
+	public void setUp()
+	{
+		solver = new PropagatingSolver(false);
+		solver.setTranspositionTable(new TranspositionTable(1 << 16, TranspositionTable.Eviction.CHEAPEST));
+		board = new Matrix();
+	}
+
+	@Benchmark
+	public int splitThenSolve()
+	{
+		PuzzleFormat.parse(PUZZLE, board);
+		List<SearchCheckpoint> parts = solver.split(board, 1, 2);
+		PuzzleFormat.parse(PUZZLE, board);
+		if (!solver.solve(board))
+			throw new IllegalStateException("Split left dead ends in the table for " + PUZZLE);
+		return parts.size() + solver.getStepsTaken();
+	}
+}
@@ -0,0 +1,181 @@
+package Sudoku;
+
+/**
+ * BacktrackingSolver - the original row-major depth-first-search (DFS) for solving a Matrix.
+ *
+ * The empty squares are collected once, in row-major order, and each level of the stack is one of them.
+ * The trail remembers which number each level currently holds. A level tries the next allowed number
+ * after the one on the trail and moves down a level; when no number is left, it clears its square
+ * (the undo) and moves back up one level, so the square behind it tries its next number, etc.
+ * Every number placed counts as one step.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class BacktrackingSolver implements SudokuSolver, SearchRecorder
+{
+	/* EMPTY represents the value used for "empty" cells
+	 */
+	private static final int EMPTY = -1;
+
+	/* trace shows the board as the search works, or is null for none
+	 * log records every number placed and taken back, or is null for none
+	 * stepsTaken counts every number placed
+	 * metrics describes the last solve
+	 * emptyCells holds the flat indeces (row * dimension + col) of every square the solver has to fill
+	 * trail holds the number currently placed at each level of the stack, 0 when none has been tried yet
+	 *     (both are sized for 9x9 and grow the first time a bigger board is solved)
+	 */
+	private BoardTrace trace;
+	private SearchLog log;
+	private int stepsTaken;
+	private SolveMetrics metrics;
+	private int[] emptyCells;
+	private int[] trail;
+
+	/**
+	 * BacktrackingSolver constructor
+	 *
+	 * @param verbose - whether to show the board on the console as the search works
+	 */
+	public BacktrackingSolver(boolean verbose)
+	{
+		this(verbose ? BoardTrace.console() : null);
+	}
+
+	/**
+	 * BacktrackingSolver constructor with a trace of its own
+	 *
+	 * @param trace - where to show the board as the search works, or null for nowhere
+	 */
+	public BacktrackingSolver(BoardTrace trace)
+	{
+		this.trace = trace;
+		this.metrics = new SolveMetrics();
+		this.emptyCells = new int[81];
+		this.trail = new int[81];
+	}
+
+	@Override
+	public boolean solve(Matrix board)
+	{
+		return solve(board, null) == SolveOutcome.SOLVED;
+	}
+
+	@Override
+	public SolveOutcome solve(Matrix board, SolveControl control)
+	{
+		metrics.start();
+		if (log != null)
+			log.start(board);
+		boolean succeeded = search(board, control);
+		metrics.finish();
+		if (log != null)
+			log.finish(succeeded);
+		if (trace != null)
+			trace.flush(stepsTaken);
+		return SolveOutcome.of(succeeded, control);
+	}
+
+	/**
+	 * The search itself.
+	 *
+	 * @param board - the Matrix to solve in place
+	 * @param control - checked at every number placed, or null
+	 * @return boolean - whether a solution was found
+	 */
+	private boolean search(Matrix board, SolveControl control)
+	{
+		stepsTaken = 0;
+		int dimension = board.getDimension();
+		if (emptyCells.length < dimension * dimension)
+		{
+			emptyCells = new int[dimension * dimension];
+			trail = new int[dimension * dimension];
+		}
+
+		int emptyCount = 0;
+		for (int rowIndex = 0; rowIndex < dimension; rowIndex++)
+			for (int colIndex = 0; colIndex < dimension; colIndex++)
+				if (!board.isGiven(rowIndex, colIndex))
+					emptyCells[emptyCount++] = rowIndex * dimension + colIndex;
+
+		// allows user to see each step taken to solve the puzzle
+		if (trace != null)
+			trace.step(board, 0);
+
+		int depth = 0;
+		if (emptyCount > 0)
+			trail[0] = 0;
+		while (depth < emptyCount)
+		{
+			// every level has been exhausted, so there is no solution
+			if (depth < 0)
+				return false;
+
+			// told to stop: empty every square filled so far
+			if (control != null && control.shouldStop())
+			{
+				for (int level = 0; level <= depth && level < emptyCount; level++)
+					board.setAt(emptyCells[level] / dimension, emptyCells[level] % dimension, EMPTY);
+				return false;
+			}
+
+			int row = emptyCells[depth] / dimension;
+			int col = emptyCells[depth] % dimension;
+
+			// undo whatever this level placed last time, then look for the next allowed number
+			board.setAt(row, col, EMPTY);
+			if (log != null && trail[depth] != 0)
+				log.undo(emptyCells[depth]);
+			int val = trail[depth] + 1;
+			while (val <= dimension && !board.isCandidate(row, col, val))
+				val++;
+
+			if (val <= dimension)
+			{
+				// place it and move down to the next empty square
+				stepsTaken++;
+				board.setAt(row, col, val);
+				if (log != null)
+					log.assign(emptyCells[depth], val);
+				trail[depth] = val;
+				depth++;
+				metrics.node(depth);
+				if (depth < emptyCount)
+					trail[depth] = 0;
+
+				if (trace != null)
+					trace.step(board, stepsTaken);
+			}
+			else
+			{
+				// no number works here, so go back and change the square before
+				trail[depth] = 0;
+				depth--;
+				metrics.backtrack();
+			}
+		}
+
+		// every empty square has been filled
+		return true;
+	}
+
+	@Override
+	public int getStepsTaken()
+	{
+		return stepsTaken;
+	}
+
+	@Override
+	public void setSearchLog(SearchLog log)
+	{
+		this.log = log;
+	}
+
+	@Override
+	public SolveMetrics getMetrics()
+	{
+		return metrics;
+	}
+}
@@ -0,0 +1,556 @@
+package Sudoku;
+
+// For reading puzzles and writing solutions
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BatchSolver - solves a whole file of puzzles without any user interaction.
+ *
+ * Puzzles are read one per line in the 81-character format (see PuzzleFormat; 16x16 and 25x25 puzzles
+ * use 256- and 625-character lines and can be mixed in), from a file or from System.in. A file in the
+ * PackedFormat is read by mapping it instead of line by line. Each line of output is the solution of the
+ * puzzle on the same input line, or "no solution" or "invalid" when there is none. Blank lines and lines
+ * starting with # are skipped. When every puzzle is done, a summary with the throughput, the p50/p99 solve
+ * times and the search totals is printed to System.err. The totals are also published through JMX as
+ * Sudoku:type=SolverStatistics while the run works.
+ *
+ * With --count, each output line is the number of solutions of the puzzle instead, counting no further than
+ * the limit given (0 for no limit). A limit of 2 checks puzzles for a unique solution.
+ *
+ * With --log, every number placed and taken back is recorded to a binary log for SearchReplay
+ * (baseline and propagating modes, on one thread).
+ *
+ * With --timeout, a puzzle is given up on after that many milliseconds and its output line is "timeout",
+ * whether it was being solved or counted.
+ *
+ * With --cache, the solutions of up to that many 9x9 puzzles are kept by canonical form (see SolutionCache),
+ * so a puzzle that is a relabelled, reordered or transposed copy of a recent one is not searched again. The
+ * cache's hits and misses are printed with the summary.
+ *
+ * With --table, the propagating search remembers up to that many megabytes of board states it has proved to
+ * be dead ends (see TranspositionTable), and gives up at once on a state it reaches again; --eviction picks
+ * which state makes room when the table is full (oldest or cheapest, the default). How many subtrees were
+ * pruned is printed with the summary.
+ *
+ * Usage: java Sudoku.BatchSolver [--mode baseline|propagating|dancing-links|fork-join|portfolio] [--threads n]
+ *     [--count limit] [--log file] [--cache size]
+ *     [--timeout ms] [--table mb] [--eviction oldest|cheapest] [file]
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class BatchSolver
+{
+	/* NO_SOLUTION is written for puzzles that cannot be solved
+	 * INVALID is written for lines that are not a legal puzzle
+	 * TIMEOUT is written for puzzles given up on
+	 */
+	public static final String NO_SOLUTION = "no solution";
+	public static final String INVALID = "invalid";
+	public static final String TIMEOUT = "timeout";
+
+	/* SOLVE is the count limit meaning "solve the puzzles instead of counting"
+	 */
+	public static final long SOLVE = -1;
+
+	/* solver is reused for every puzzle
+	 * boards holds one reusable Matrix per box size, made the first time a puzzle of that size is read
+	 * stats records every puzzle solved by this BatchSolver
+	 * statistics adds up the search metrics of every puzzle solved in this JVM, for JMX
+	 * countLimit is the limit passed to countSolutions, or SOLVE to write solutions
+	 * timeout is the milliseconds each puzzle may take, 0 for no limit
+	 */
+	private SudokuSolver solver;
+	private Matrix[] boards;
+	private BatchStats stats;
+	private SolverStatistics statistics;
+	private long countLimit;
+	private long timeout;
+
+	/**
+	 * BatchSolver constructor
+	 *
+	 * @param mode - the search used for every puzzle
+	 */
+	public BatchSolver(SolveMode mode)
+	{
+		this(mode, SOLVE);
+	}
+
+	/**
+	 * BatchSolver constructor for counting solutions
+	 *
+	 * @param mode - the search used for every puzzle
+	 * @param countLimit - the count to stop at for each puzzle (0 for no limit), or SOLVE to write solutions
+	 */
+	public BatchSolver(SolveMode mode, long countLimit) throws IllegalArgumentException
+	{
+		this.solver = mode.newSolver(false);
+		if (countLimit != SOLVE && (countLimit < 0 || !(solver instanceof SolutionCounter)))
+			throw new IllegalArgumentException("Mode " + mode + " cannot count solutions up to " + countLimit);
+
+		this.boards = new Matrix[Matrix.MAX_BOX_SIZE + 1];
+		this.stats = new BatchStats();
+		this.statistics = SolverStatistics.getInstance();
+		this.countLimit = countLimit;
+	}
+
+	/**
+	 * The main method - for solving a file of puzzles.
+	 *
+	 * @param args - command line arguments: an optional --mode, an optional --threads (0 for every core),
+	 *     an optional --count, an optional --log, an optional --cache, an optional --timeout, an optional
+	 *     --table and --eviction, and an optional file name (- or none
+	 *     for System.in; a packed file is recognized by its header)
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		SolveMode mode = SolveMode.PROPAGATING;
+		int threads = 1;
+		long countLimit = SOLVE;
+		String fileName = "-";
+		String logName = null;
+		int cacheSize = 0;
+		long timeout = 0;
+		long tableBytes = 0;
+		TranspositionTable.Eviction eviction = TranspositionTable.Eviction.CHEAPEST;
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("--mode") && i + 1 < args.length)
+			{
+				try
+				{
+					mode = SolveMode.fromName(args[++i]);
+				}
+				catch (IllegalArgumentException iae)
+				{
+					System.err.println(iae.getMessage());
+					return;
+				}
+			}
+			else if (args[i].equals("--threads") && i + 1 < args.length)
+			{
+				try
+				{
+					threads = Integer.parseInt(args[++i]);
+				}
+				catch (NumberFormatException nfe)
+				{
+					threads = -1;
+				}
+				if (threads < 0)
+				{
+					System.err.println("Invalid thread count \"" + args[i] + "\"");
+					return;
+				}
+				if (threads == 0)
+					threads = Runtime.getRuntime().availableProcessors();
+			}
+			else if (args[i].equals("--count") && i + 1 < args.length)
+			{
+				try
+				{
+					countLimit = Long.parseLong(args[++i]);
+				}
+				catch (NumberFormatException nfe)
+				{
+					countLimit = -1;
+				}
+				if (countLimit < 0)
+				{
+					System.err.println("Invalid count limit \"" + args[i] + "\"");
+					return;
+				}
+			}
+			else if (args[i].equals("--log") && i + 1 < args.length)
+				logName = args[++i];
+			else if (args[i].equals("--timeout") && i + 1 < args.length)
+			{
+				try
+				{
+					timeout = Long.parseLong(args[++i]);
+				}
+				catch (NumberFormatException nfe)
+				{
+					timeout = -1;
+				}
+				if (timeout < 0)
+				{
+					System.err.println("Invalid timeout \"" + args[i] + "\"");
+					return;
+				}
+			}
+			else if (args[i].equals("--cache") && i + 1 < args.length)
+			{
+				try
+				{
+					cacheSize = Integer.parseInt(args[++i]);
+				}
+				catch (NumberFormatException nfe)
+				{
+					cacheSize = 0;
+				}
+				if (cacheSize < 1)
+				{
+					System.err.println("Invalid cache size \"" + args[i] + "\"");
+					return;
+				}
+			}
+			else if (args[i].equals("--table") && i + 1 < args.length)
+			{
+				try
+				{
+					tableBytes = Long.parseLong(args[++i]) << 20;
+				}
+				catch (NumberFormatException nfe)
+				{
+					tableBytes = 0;
+				}
+				if (tableBytes < 1)
+				{
+					System.err.println("Invalid table size \"" + args[i] + "\"");
+					return;
+				}
+			}
+			else if (args[i].equals("--eviction") && i + 1 < args.length)
+			{
+				try
+				{
+					eviction = TranspositionTable.Eviction.valueOf(args[++i].toUpperCase());
+				}
+				catch (IllegalArgumentException iae)
+				{
+					System.err.println("Invalid eviction \"" + args[i] + "\", expected oldest or cheapest");
+					return;
+				}
+			}
+			else
+				fileName = args[i];
+		}
+
+		if (countLimit != SOLVE && !(mode.newSolver(false) instanceof SolutionCounter))
+		{
+			System.err.println("Mode " + mode.name().toLowerCase().replace('_', '-') + " cannot count solutions");
+			return;
+		}
+		if (logName != null && (threads != 1 || !(mode.newSolver(false) instanceof SearchRecorder)))
+		{
+			System.err.println("--log needs --threads 1 and the baseline or propagating mode");
+			return;
+		}
+		if (cacheSize != 0 && (countLimit != SOLVE || logName != null))
+		{
+			System.err.println("--cache cannot be used with --count or --log");
+			return;
+		}
+		if (tableBytes != 0 && (mode != SolveMode.PROPAGATING || countLimit != SOLVE))
+		{
+			System.err.println("--table needs the propagating mode, and cannot be used with --count");
+			return;
+		}
+		SolutionCache cache = cacheSize == 0 ? null : new SolutionCache(cacheSize);
+		List<TranspositionTable> tables = new ArrayList<TranspositionTable>();
+
+		Path path = fileName.equals("-") ? null : Paths.get(fileName);
+		PackedReader packed = null;
+		BufferedReader in = null;
+		try
+		{
+			if (path != null && PackedReader.isPacked(path))
+				packed = new PackedReader(path);
+			else
+				in = path == null ? new BufferedReader(new InputStreamReader(System.in))
+					: new BufferedReader(new FileReader(fileName));
+		}
+		catch (IllegalArgumentException iae)
+		{
+			System.err.println(iae.getMessage());
+			return;
+		}
+		Writer out = new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+
+		long start = System.nanoTime();
+		BatchStats stats;
+		if (threads == 1)
+		{
+			BatchSolver batch = new BatchSolver(mode, countLimit);
+			SearchLog log = logName == null ? null : new SearchLog(Paths.get(logName));
+			batch.setSearchLog(log);
+			batch.setCache(cache);
+			batch.setTimeout(timeout);
+			if (tableBytes != 0)
+			{
+				tables.add(new TranspositionTable(tableBytes, eviction));
+				batch.setTranspositionTable(tables.get(0));
+			}
+			if (packed != null)
+				batch.solveAll(packed, out);
+			else
+				batch.solveAll(in, out);
+			stats = batch.getStats();
+			if (log != null)
+				log.close();
+		}
+		else
+		{
+			ParallelBatchSolver batch = new ParallelBatchSolver(mode, threads, countLimit);
+			batch.setCache(cache);
+			batch.setTimeout(timeout);
+			if (tableBytes != 0)
+				batch.setTranspositionTables(tableBytes, eviction);
+			if (packed != null)
+				batch.solveAll(packed, out);
+			else
+				batch.solveAll(in, out);
+			stats = batch.getStats();
+			tables.addAll(batch.getTranspositionTables());
+		}
+		out.flush();
+		long elapsed = System.nanoTime() - start;
+		if (in != null)
+			in.close();
+
+		stats.printSummary(elapsed);
+		System.err.println("search: " + SolverStatistics.getInstance());
+		if (mode == SolveMode.PORTFOLIO)
+			System.err.println("portfolio wins: " + SolverStatistics.getInstance().getPortfolioWins());
+		if (cache != null)
+			System.err.println("cache: " + cache);
+		if (!tables.isEmpty())
+			printTables(tables);
+	}
+
+	/**
+	 * Prints what the transposition tables of a run did, added up over every worker, to System.err.
+	 *
+	 * @param tables - the table of each worker
+	 */
+	private static void printTables(List<TranspositionTable> tables)
+	{
+		long hits = 0;
+		long lookups = 0;
+		long evictions = 0;
+		for (TranspositionTable table : tables)
+		{
+			hits += table.getHits();
+			lookups += table.getLookups();
+			evictions += table.getEvictions();
+		}
+		System.err.println("table: pruned " + hits + " subtrees in " + lookups + " lookups, " + evictions
+			+ " evictions, " + tables.size() + " x " + tables.get(0).getCapacity() + " entries");
+	}
+
+	/**
+	 * Solves every puzzle line from the reader and writes one result line per puzzle.
+	 *
+	 * @param in - where the puzzle lines come from
+	 * @param out - where the result lines go
+	 */
+	public void solveAll(BufferedReader in, Writer out) throws IOException
+	{
+		StringBuilder line = new StringBuilder(PuzzleFormat.LINE_LENGTH + 1);
+		String puzzle;
+		while ((puzzle = in.readLine()) != null)
+		{
+			if (isSkipped(puzzle))
+				continue;
+
+			line.setLength(0);
+			solveLine(puzzle.trim(), line);
+			out.append(line);
+		}
+	}
+
+	/**
+	 * Solves every puzzle of a packed file and writes one result line per puzzle.
+	 *
+	 * @param in - the packed file
+	 * @param out - where the result lines go
+	 */
+	public void solveAll(PackedReader in, Writer out) throws IOException
+	{
+		StringBuilder line = new StringBuilder(PuzzleFormat.LINE_LENGTH + 1);
+		for (long index = 0; index < in.size(); index++)
+		{
+			line.setLength(0);
+			solveRecord(in, index, line);
+			out.append(line);
+		}
+	}
+
+	/**
+	 * Solves (or counts the solutions of) one puzzle line, records it, and appends its result line
+	 * (with a newline).
+	 *
+	 * @param puzzle - the puzzle line
+	 * @param out - where to append the result
+	 */
+	public void solveLine(String puzzle, StringBuilder out)
+	{
+		long start = System.nanoTime();
+		Matrix board = boardFor(PuzzleFormat.boxSizeOf(puzzle.length()));
+		solveBoard(board, board != null && PuzzleFormat.parse(puzzle, board), start, out);
+	}
+
+	/**
+	 * Solves (or counts the solutions of) one puzzle of a packed file, records it, and appends its result line
+	 * (with a newline). The puzzle is decoded straight into this BatchSolver's Matrix.
+	 *
+	 * @param in - the packed file
+	 * @param index - which puzzle
+	 * @param out - where to append the result
+	 */
+	public void solveRecord(PackedReader in, long index, StringBuilder out)
+	{
+		long start = System.nanoTime();
+		Matrix board = boardFor(in.getBoxSize());
+		solveBoard(board, in.read(index, board), start, out);
+	}
+
+	/**
+	 * Gets the reusable Matrix for a box size, making it the first time.
+	 *
+	 * @param boxSize - the box size, or 0 for a puzzle of no supported size
+	 * @return the Matrix, or null for box size 0
+	 */
+	private Matrix boardFor(int boxSize)
+	{
+		if (boxSize != 0 && boards[boxSize] == null)
+			boards[boxSize] = new Matrix(boxSize);
+		return boxSize == 0 ? null : boards[boxSize];
+	}
+
+	/**
+	 * Solves (or counts the solutions of) a puzzle that has been read, records it, and appends its result line.
+	 *
+	 * @param board - the puzzle
+	 * @param valid - whether it was read as a legal puzzle
+	 * @param start - when reading it began
+	 * @param out - where to append the result
+	 */
+	private void solveBoard(Matrix board, boolean valid, long start, StringBuilder out)
+	{
+		long count = 0;
+		SolveOutcome outcome = SolveOutcome.NO_SOLUTION;
+		SolveControl control = timeout == 0 ? null : new SolveControl(timeout);
+		if (valid && countLimit != SOLVE)
+			count = ((SolutionCounter) solver).countSolutions(board, countLimit, control);
+		else if (valid)
+			outcome = solver.solve(board, control);
+		// a count cut short is only a lower bound, so it is written as a timeout rather than a wrong number
+		boolean gaveUp = countLimit == SOLVE ? outcome == SolveOutcome.TIMED_OUT
+			: control != null && control.getStopReason() == SolveOutcome.TIMED_OUT;
+		boolean succeeded = valid && !gaveUp && (countLimit == SOLVE ? outcome == SolveOutcome.SOLVED : count > 0);
+		stats.record(System.nanoTime() - start, valid, succeeded, gaveUp);
+		if (valid)
+			statistics.record(solver.getMetrics(), succeeded);
+
+		if (!valid)
+			out.append(INVALID);
+		else if (countLimit != SOLVE && !gaveUp)
+			out.append(count);
+		else if (succeeded)
+			PuzzleFormat.format(board, out);
+		else
+			out.append(gaveUp ? TIMEOUT : NO_SOLUTION);
+		out.append('\n');
+	}
+
+	/**
+	 * Records every following search to a log.
+	 *
+	 * @param log - the log, or null to stop recording
+	 */
+	public void setSearchLog(SearchLog log) throws IllegalArgumentException
+	{
+		if (!(solver instanceof SearchRecorder))
+		{
+			if (log != null)
+				throw new IllegalArgumentException("Invalid log passed into BatchSolver.setSearchLog(SearchLog): "
+					+ "this mode cannot record its search");
+			return;
+		}
+		((SearchRecorder) solver).setSearchLog(log);
+	}
+
+	/**
+	 * Gives up on every following puzzle that takes too long to solve. Counting solutions is never cut short.
+	 *
+	 * @param timeout - the milliseconds each puzzle may take, 0 for no limit
+	 */
+	public void setTimeout(long timeout) throws IllegalArgumentException
+	{
+		if (timeout < 0)
+			throw new IllegalArgumentException("Invalid timeout passed into BatchSolver.setTimeout(long)");
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Has every following solve remember the states it proves to be dead ends in a table, and prune them when
+	 * they come up again. Only for the propagating mode, and only for solving.
+	 *
+	 * @param table - the table, used by this BatchSolver only, or null for none
+	 */
+	public void setTranspositionTable(TranspositionTable table) throws IllegalArgumentException
+	{
+		SudokuSolver search = solver instanceof CachingSolver ? ((CachingSolver) solver).getSolver() : solver;
+		if (!(search instanceof PropagatingSolver) || (table != null && countLimit != SOLVE))
+		{
+			if (table != null)
+				throw new IllegalArgumentException("Invalid table passed into "
+					+ "BatchSolver.setTranspositionTable(TranspositionTable): only a propagating solve can use one");
+			return;
+		}
+		((PropagatingSolver) search).setTranspositionTable(table);
+	}
+
+	/**
+	 * Looks every following 9x9 puzzle up in a cache before solving it, and keeps its solution there after.
+	 * Only for solving: a BatchSolver that counts solutions cannot use a cache.
+	 *
+	 * @param cache - the cache, which may be shared with other BatchSolvers, or null for none
+	 */
+	public void setCache(SolutionCache cache) throws IllegalArgumentException
+	{
+		if (solver instanceof CachingSolver)
+			solver = ((CachingSolver) solver).getSolver();
+		if (cache == null)
+			return;
+		if (countLimit != SOLVE)
+			throw new IllegalArgumentException("Invalid cache passed into BatchSolver.setCache(SolutionCache): "
+				+ "solutions are not cached while counting");
+		solver = new CachingSolver(solver, cache);
+	}
+
+	/**
+	 * Gets the stats of every puzzle solved by this BatchSolver.
+	 *
+	 * @return the stats
+	 */
+	public BatchStats getStats()
+	{
+		return stats;
+	}
+
+	/**
+	 * Checks whether an input line holds no puzzle: blank lines and # comments are skipped.
+	 *
+	 * @param line - the input line
+	 * @return whether the line should be skipped
+	 */
+	public static boolean isSkipped(String line)
+	{
+		String trimmed = line.trim();
+		return trimmed.isEmpty() || trimmed.startsWith("#");
+	}
+}
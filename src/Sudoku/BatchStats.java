@@ -0,0 +1,125 @@
+package Sudoku;
+
+// For sorting the solve times
+import java.util.Arrays;
+
+/**
+ * BatchStats - counts the puzzles of a batch run and remembers how long each one took to solve.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class BatchStats
+{
+	/* solveTimes holds the nanoseconds spent on each puzzle, and puzzles how many there were
+	 * solved and invalid count the puzzles with a solution and the lines that were not puzzles
+	 * timedOut counts the puzzles given up on
+	 */
+	private long[] solveTimes;
+	private int puzzles;
+	private int solved;
+	private int invalid;
+	private int timedOut;
+
+	/**
+	 * BatchStats constructor
+	 */
+	public BatchStats()
+	{
+		this.solveTimes = new long[1024];
+	}
+
+	/**
+	 * Records one puzzle.
+	 *
+	 * @param time - the nanoseconds spent on it
+	 * @param valid - whether the line was a legal puzzle
+	 * @param succeeded - whether a solution was found
+	 */
+	public void record(long time, boolean valid, boolean succeeded)
+	{
+		record(time, valid, succeeded, false);
+	}
+
+	/**
+	 * Records one puzzle that may have been given up on.
+	 *
+	 * @param time - the nanoseconds spent on it
+	 * @param valid - whether the line was a legal puzzle
+	 * @param succeeded - whether a solution was found
+	 * @param gaveUp - whether the search ran out of time before finding a solution or proving there is none
+	 */
+	public void record(long time, boolean valid, boolean succeeded, boolean gaveUp)
+	{
+		// remembering the time, growing the array when it is full
+		if (puzzles == solveTimes.length)
+			solveTimes = Arrays.copyOf(solveTimes, puzzles * 2);
+		solveTimes[puzzles++] = time;
+
+		if (!valid)
+			invalid++;
+		else if (succeeded)
+			solved++;
+		else if (gaveUp)
+			timedOut++;
+	}
+
+	/**
+	 * Adds everything another BatchStats recorded to this one.
+	 *
+	 * @param other - the stats to add
+	 */
+	public void merge(BatchStats other)
+	{
+		if (puzzles + other.puzzles > solveTimes.length)
+			solveTimes = Arrays.copyOf(solveTimes, Math.max(solveTimes.length * 2, puzzles + other.puzzles));
+		System.arraycopy(other.solveTimes, 0, solveTimes, puzzles, other.puzzles);
+		puzzles += other.puzzles;
+		solved += other.solved;
+		invalid += other.invalid;
+		timedOut += other.timedOut;
+	}
+
+	/**
+	 * Gets the number of puzzles recorded.
+	 *
+	 * @return the number of puzzles
+	 */
+	public int getPuzzles()
+	{
+		return puzzles;
+	}
+
+	/**
+	 * Prints the number of puzzles, the throughput, and the p50/p99 solve times to System.err.
+	 *
+	 * @param elapsed - the wall time of the whole batch, in nanoseconds
+	 */
+	public void printSummary(long elapsed)
+	{
+		long[] sorted = Arrays.copyOf(solveTimes, puzzles);
+		Arrays.sort(sorted);
+
+		System.err.println("puzzles: " + puzzles + " (solved " + solved + ", no solution "
+			+ (puzzles - solved - invalid - timedOut) + (timedOut == 0 ? "" : ", timed out " + timedOut)
+			+ ", invalid " + invalid + ")");
+		System.err.printf("elapsed: %.1f ms, %.1f puzzles/s%n", elapsed / 1e6, elapsed == 0 ? 0.0 : puzzles * 1e9 / elapsed);
+		System.err.printf("solve time p50: %.1f us, p99: %.1f us%n", percentile(sorted, 50) / 1e3, percentile(sorted, 99) / 1e3);
+	}
+
+	/**
+	 * Picks a percentile out of sorted times with the nearest-rank method.
+	 *
+	 * @param sorted - the times, sorted low to high
+	 * @param percent - the percentile wanted, 0-100
+	 * @return the time at that percentile, or 0 if there are no times
+	 */
+	private static long percentile(long[] sorted, int percent)
+	{
+		if (sorted.length == 0)
+			return 0;
+
+		int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+		return sorted[Math.max(rank, 1) - 1];
+	}
+}
@@ -0,0 +1,43 @@
+package Sudoku;
+
+/**
+ * Board interface - a grid that can be read square by square, whether it is a Matrix or a view of a board
+ * kept somewhere else (see BoardStore).
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public interface Board
+{
+	/**
+	 * Gets the number of rows and columns in each box.
+	 *
+	 * @return the box size
+	 */
+	int getBoxSize();
+
+	/**
+	 * Gets the number of rows (and columns, and numbers) of the grid.
+	 *
+	 * @return the dimension, boxSize * boxSize
+	 */
+	int getDimension();
+
+	/**
+	 * Gets the number stored at a location on the grid.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @return the number, 1 to dimension, or -1 for an empty square
+	 */
+	int getAt(int row, int col);
+
+	/**
+	 * Checks whether the number at a location is part of the given information.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @return whether that location holds a given number
+	 */
+	boolean isGiven(int row, int col);
+}
@@ -0,0 +1,207 @@
+package Sudoku;
+
+// For emptying the batch
+import java.util.Arrays;
+
+/**
+ * BoardBatch - many boards of the same size, laid out so a BoardKernel can work on all of them at once.
+ *
+ * The numbers are stored square by square rather than board by board: the numbers of one square on every
+ * board of the batch sit next to each other (square s of board b is at s * getCapacity() + b). A kernel can
+ * then load that square of several boards with one vector instruction and treat each board as a lane. Empty
+ * squares hold 0. The capacity is rounded up to a multiple of LANE_MULTIPLE, so whole vectors can always be
+ * loaded; the unused boards at the end are empty.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class BoardBatch
+{
+	/* LANE_MULTIPLE is what the capacity is rounded up to, enough for the widest vector of ints (and then some)
+	 * EMPTY represents the value used for "empty" cells
+	 */
+	public static final int LANE_MULTIPLE = 64;
+	private static final int EMPTY = -1;
+
+	/* boxSize and dimension describe every board in the batch, squares is the number of squares of one
+	 * capacity is the most boards the batch holds, and size the number it holds now
+	 * values holds the numbers, square by square (0 for empty)
+	 */
+	private int boxSize;
+	private int dimension;
+	private int squares;
+	private int capacity;
+	private int size;
+	private int[] values;
+
+	/**
+	 * BoardBatch constructor, for an empty batch
+	 *
+	 * @param boxSize - the box size of every board, 2-5
+	 * @param capacity - the most boards the batch should hold, at least 1 (rounded up to a multiple of
+	 *     LANE_MULTIPLE)
+	 */
+	public BoardBatch(int boxSize, int capacity) throws IllegalArgumentException
+	{
+		if (boxSize < 2 || boxSize > Matrix.MAX_BOX_SIZE || capacity < 1
+			|| capacity > Integer.MAX_VALUE / (boxSize * boxSize * boxSize * boxSize) - LANE_MULTIPLE)
+			throw new IllegalArgumentException("Invalid arguments passed into BoardBatch(int, int)");
+
+		this.boxSize = boxSize;
+		this.dimension = boxSize * boxSize;
+		this.squares = dimension * dimension;
+		this.capacity = (capacity + LANE_MULTIPLE - 1) / LANE_MULTIPLE * LANE_MULTIPLE;
+		this.values = new int[squares * this.capacity];
+	}
+
+	/**
+	 * Adds a board to the end of the batch.
+	 *
+	 * @param board - the board, of the box size of the batch
+	 * @return its index in the batch
+	 */
+	public int add(Board board) throws IllegalArgumentException
+	{
+		if (size == capacity || board.getBoxSize() != boxSize)
+			throw new IllegalArgumentException("Invalid board passed into BoardBatch.add(Board): "
+				+ (size == capacity ? "the batch is full" : "wrong size"));
+
+		write(size, board);
+		return size++;
+	}
+
+	/**
+	 * Adds a board to the end of the batch straight from a puzzle line, without making a Matrix of it. Unlike
+	 * PuzzleFormat.parse, a line that repeats a number is added as it is, so that it can be found out by
+	 * BoardKernel.validate.
+	 *
+	 * @param line - the puzzle line, for boards of the box size of the batch
+	 * @return its index in the batch, or -1 if the line is the wrong length or has an unknown character (and
+	 *     nothing was added)
+	 */
+	public int add(CharSequence line) throws IllegalArgumentException
+	{
+		if (size == capacity)
+			throw new IllegalArgumentException("Invalid line passed into BoardBatch.add(CharSequence): the batch is full");
+		if (line.length() != squares)
+			return -1;
+
+		for (int square = 0; square < squares; square++)
+		{
+			char c = line.charAt(square);
+			int val = c == '0' || c == '.' ? 0 : PuzzleFormat.valueOf(c);
+			if (val < 0 || val > dimension)
+			{
+				// emptying what was written so far, as the unused boards at the end have to stay empty
+				for (int written = 0; written < square; written++)
+					values[written * capacity + size] = 0;
+				return -1;
+			}
+			values[square * capacity + size] = val;
+		}
+		return size++;
+	}
+
+	/**
+	 * Replaces a board of the batch.
+	 *
+	 * @param index - the index of the board, 0 to size - 1
+	 * @param board - the new board, of the box size of the batch
+	 */
+	public void set(int index, Board board) throws IllegalArgumentException
+	{
+		if (index < 0 || index >= size || board.getBoxSize() != boxSize)
+			throw new IllegalArgumentException("Invalid arguments passed into BoardBatch.set(int, Board)");
+
+		write(index, board);
+	}
+
+	/**
+	 * Gets a number of one of the boards.
+	 *
+	 * @param index - the index of the board, 0 to size - 1
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @return the number, 1 to dimension, or -1 for an empty square
+	 */
+	public int getAt(int index, int row, int col) throws IllegalArgumentException
+	{
+		if (index < 0 || index >= size || row < 0 || col < 0 || row >= dimension || col >= dimension)
+			throw new IllegalArgumentException("Invalid arguments in BoardBatch.getAt(int index, int row, int col)");
+
+		int val = values[(row * dimension + col) * capacity + index];
+		return val == 0 ? EMPTY : val;
+	}
+
+	/**
+	 * Empties the batch, so it can be filled again.
+	 */
+	public void clear()
+	{
+		Arrays.fill(values, 0);
+		size = 0;
+	}
+
+	/**
+	 * Gets the number of boards in the batch.
+	 *
+	 * @return the size
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets the most boards the batch can hold, which is also the distance between the numbers of two squares
+	 * of one board.
+	 *
+	 * @return the capacity, a multiple of LANE_MULTIPLE
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * Gets the box size of the boards in the batch.
+	 *
+	 * @return the box size
+	 */
+	public int getBoxSize()
+	{
+		return boxSize;
+	}
+
+	/**
+	 * Gets the number of rows (and columns, and numbers) of the boards in the batch.
+	 *
+	 * @return the dimension
+	 */
+	public int getDimension()
+	{
+		return dimension;
+	}
+
+	/**
+	 * Copies a board into its place in the batch.
+	 *
+	 * @param index - the index of the board
+	 * @param board - the board
+	 */
+	private void write(int index, Board board)
+	{
+		for (int square = 0; square < squares; square++)
+			values[square * capacity + index] = Math.max(board.getAt(square / dimension, square % dimension), 0);
+	}
+
+	/**
+	 * Gets the numbers of every board, square by square, for a kernel to read. Not a copy.
+	 *
+	 * @return the values
+	 */
+	int[] values()
+	{
+		return values;
+	}
+}
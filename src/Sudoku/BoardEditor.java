@@ -0,0 +1,519 @@
+package Sudoku;
+
+// For growing the trail
+import java.util.Arrays;
+
+/**
+ * BoardEditor - a board being filled in by hand, which keeps everything an editor shows up to date as each
+ * number is entered, instead of checking the whole grid again.
+ *
+ * For every row, column and box it counts how many times each number appears. From those counts it keeps
+ * the allowed numbers of every empty square, how often each number is repeated (conflicts), and a list of
+ * the empty squares for each possible number of allowed numbers, so the square with the fewest can be found
+ * without looking at the others. Entering or clearing a number only touches the squares that share a row,
+ * column or box with it (20 for a 9x9 board, 72 for 25x25).
+ *
+ * Unlike a Matrix, an editor accepts numbers that repeat; they are counted as conflicts, so an editor can show
+ * them instead of refusing them. Every change goes on a trail, so undo and redo take back or repeat one change
+ * at the cost of the change itself, however long the trail is.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class BoardEditor implements Board
+{
+	/* EMPTY represents the value used for "empty" cells
+	 */
+	private static final int EMPTY = -1;
+
+	/* boxSize and dimension describe the board, squares is its number of squares
+	 * allDigits is a bitmask with one bit set for every number (bit 0 is the number 1)
+	 * cells holds the numbers, stored flat row by row, and given marks the squares that cannot be changed
+	 * rowCounts, colCounts and boxCounts count each number in each unit (number n of unit u is at
+	 *     u * dimension + n - 1), and rowMasks, colMasks and boxMasks have a bit set for every number a unit holds
+	 * peers holds, for each square, the other squares that share a row, column or box with it
+	 * candidates holds the allowed numbers of each empty square, as a bitmask
+	 * first holds, for each number of allowed numbers, the first empty square with that many (or -1), and
+	 *     next and previous link the squares of each of those lists
+	 * empty counts the empty squares, and conflicts the pairs of equal numbers sharing a unit
+	 * trail holds every change made, oldest first; the first trailSize are done, and the rest up to
+	 *     trailEnd were undone and can be redone
+	 */
+	private int boxSize;
+	private int dimension;
+	private int squares;
+	private int allDigits;
+	private byte[] cells;
+	private boolean[] given;
+	private byte[] rowCounts;
+	private byte[] colCounts;
+	private byte[] boxCounts;
+	private int[] rowMasks;
+	private int[] colMasks;
+	private int[] boxMasks;
+	private int[][] peers;
+	private int[] candidates;
+	private int[] first;
+	private int[] next;
+	private int[] previous;
+	private int empty;
+	private long conflicts;
+	private int[] trail;
+	private int trailSize;
+	private int trailEnd;
+
+	/**
+	 * BoardEditor constructor, for an empty board
+	 *
+	 * @param boxSize - the number of rows and columns in each box, 2-5
+	 */
+	public BoardEditor(int boxSize) throws IllegalArgumentException
+	{
+		if (boxSize < 2 || boxSize > Matrix.MAX_BOX_SIZE)
+			throw new IllegalArgumentException("Invalid box size passed into BoardEditor(int)");
+
+		this.boxSize = boxSize;
+		this.dimension = boxSize * boxSize;
+		this.squares = dimension * dimension;
+		this.allDigits = (1 << dimension) - 1;
+		this.cells = new byte[squares];
+		Arrays.fill(cells, (byte) EMPTY);
+		this.given = new boolean[squares];
+		this.rowCounts = new byte[dimension * dimension];
+		this.colCounts = new byte[dimension * dimension];
+		this.boxCounts = new byte[dimension * dimension];
+		this.rowMasks = new int[dimension];
+		this.colMasks = new int[dimension];
+		this.boxMasks = new int[dimension];
+		this.peers = buildPeers();
+		this.trail = new int[64];
+
+		// every square starts empty with every number allowed
+		this.candidates = new int[squares];
+		this.first = new int[dimension + 1];
+		this.next = new int[squares];
+		this.previous = new int[squares];
+		Arrays.fill(first, -1);
+		for (int square = squares - 1; square >= 0; square--)
+		{
+			candidates[square] = allDigits;
+			link(square);
+		}
+		this.empty = squares;
+	}
+
+	/**
+	 * BoardEditor constructor, for filling in a puzzle. The numbers of the puzzle become given squares, which
+	 * cannot be changed, and are not on the trail.
+	 *
+	 * @param puzzle - the puzzle
+	 */
+	public BoardEditor(Board puzzle)
+	{
+		this(puzzle.getBoxSize());
+		for (int square = 0; square < squares; square++)
+		{
+			int val = puzzle.getAt(square / dimension, square % dimension);
+			if (val != EMPTY)
+			{
+				place(square, val);
+				given[square] = true;
+			}
+		}
+	}
+
+	/**
+	 * Finds the other squares in the row, column and box of every square.
+	 *
+	 * @return the peers of each square, by flat index
+	 */
+	private int[][] buildPeers()
+	{
+		int[][] peers = new int[squares][];
+		int[] found = new int[3 * dimension];
+		for (int square = 0; square < squares; square++)
+		{
+			int row = square / dimension;
+			int col = square % dimension;
+			int count = 0;
+			for (int other = 0; other < squares; other++)
+			{
+				int otherRow = other / dimension;
+				int otherCol = other % dimension;
+				if (other != square && (otherRow == row || otherCol == col
+					|| boxIndex(otherRow, otherCol) == boxIndex(row, col)))
+					found[count++] = other;
+			}
+			peers[square] = Arrays.copyOf(found, count);
+		}
+		return peers;
+	}
+
+	/**
+	 * Enters a number in a square, or clears it, and puts the change on the trail. Anything that was undone
+	 * can no longer be redone.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @param val - the number, 1 to dimension, or -1 to clear the square
+	 * @return whether the board changed (it does not for a given square, or the number already there)
+	 */
+	public boolean set(int row, int col, int val) throws IllegalArgumentException
+	{
+		if (row < 0 || col < 0 || (val < 1 && val != EMPTY) || row >= dimension || col >= dimension || val > dimension)
+			throw new IllegalArgumentException("Invalid arguments in BoardEditor.set(int row, int col, int val)");
+
+		int square = row * dimension + col;
+		int old = cells[square];
+		if (given[square] || old == val)
+			return false;
+
+		if (trailSize == trail.length)
+			trail = Arrays.copyOf(trail, 2 * trail.length);
+		trail[trailSize++] = change(square, old, val);
+		trailEnd = trailSize;
+		place(square, val);
+		return true;
+	}
+
+	/**
+	 * Takes back the last change.
+	 *
+	 * @return whether there was a change to take back
+	 */
+	public boolean undo()
+	{
+		if (trailSize == 0)
+			return false;
+
+		int change = trail[--trailSize];
+		place(change >>> 10, valueOf(change >>> 5));
+		return true;
+	}
+
+	/**
+	 * Makes the last change taken back again.
+	 *
+	 * @return whether there was a change to make again
+	 */
+	public boolean redo()
+	{
+		if (trailSize == trailEnd)
+			return false;
+
+		int change = trail[trailSize++];
+		place(change >>> 10, valueOf(change));
+		return true;
+	}
+
+	/**
+	 * Finds the empty square with the fewest allowed numbers, the best one to fill in next. A square with none
+	 * allowed means the board cannot be finished as it is.
+	 *
+	 * @return the square, as row * dimension + col, or -1 if no square is empty
+	 */
+	public int getHint()
+	{
+		for (int count = 0; count <= dimension; count++)
+			if (first[count] != -1)
+				return first[count];
+		return -1;
+	}
+
+	/**
+	 * Gets the numbers that could be entered in a square without repeating one in its row, column or box. For a
+	 * square that is already filled, these are the numbers it could be changed to, its own number included if
+	 * it has no conflicts.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @return the bitmask of allowed numbers (bit 0 is the number 1)
+	 */
+	public int getCandidates(int row, int col) throws IllegalArgumentException
+	{
+		if (row < 0 || col < 0 || row >= dimension || col >= dimension)
+			throw new IllegalArgumentException("Invalid arguments in BoardEditor.getCandidates(int row, int col)");
+
+		int square = row * dimension + col;
+		int val = cells[square];
+		if (val == EMPTY)
+			return candidates[square];
+		int mask = allowed(row, col, boxIndex(row, col));
+		return getConflicts(row, col) == 0 ? mask | 1 << (val - 1) : mask;
+	}
+
+	/**
+	 * Checks whether a number could be entered in a square without repeating one in its row, column or box.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @param val - the number, 1 to dimension
+	 * @return whether it is allowed
+	 */
+	public boolean isCandidate(int row, int col, int val) throws IllegalArgumentException
+	{
+		if (val < 1 || val > dimension)
+			throw new IllegalArgumentException("Invalid arguments in BoardEditor.isCandidate(int row, int col, int val)");
+
+		return (getCandidates(row, col) & (1 << (val - 1))) != 0;
+	}
+
+	/**
+	 * Gets how many times the number in a square is repeated in its row, column and box. A square that shares
+	 * both its row and its box with an equal number counts it twice.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @return the repeats, 0 for an empty square or one without conflicts
+	 */
+	public int getConflicts(int row, int col) throws IllegalArgumentException
+	{
+		if (row < 0 || col < 0 || row >= dimension || col >= dimension)
+			throw new IllegalArgumentException("Invalid arguments in BoardEditor.getConflicts(int row, int col)");
+
+		int val = cells[row * dimension + col];
+		if (val == EMPTY)
+			return 0;
+		return rowCounts[row * dimension + val - 1] + colCounts[col * dimension + val - 1]
+			+ boxCounts[boxIndex(row, col) * dimension + val - 1] - 3;
+	}
+
+	/**
+	 * Gets the number of pairs of equal numbers that share a row, column or box.
+	 *
+	 * @return the conflicts, 0 for a board without repeats
+	 */
+	public long getConflictCount()
+	{
+		return conflicts;
+	}
+
+	/**
+	 * Gets the number of empty squares.
+	 *
+	 * @return the empty squares, 0 for a filled board
+	 */
+	public int getEmptyCount()
+	{
+		return empty;
+	}
+
+	/**
+	 * Checks whether the board is filled with no conflicts, in other words solved.
+	 *
+	 * @return whether it is solved
+	 */
+	public boolean isSolved()
+	{
+		return empty == 0 && conflicts == 0;
+	}
+
+	/**
+	 * Copies the board into a Matrix, replacing whatever it held, so it can be solved. Every number becomes
+	 * given information.
+	 *
+	 * @param board - the Matrix to fill, of the same box size
+	 */
+	public void copyTo(Matrix board) throws IllegalArgumentException
+	{
+		if (board.getBoxSize() != boxSize)
+			throw new IllegalArgumentException("Invalid board size passed into BoardEditor.copyTo(Matrix)");
+
+		board.clear();
+		for (int square = 0; square < squares; square++)
+			if (cells[square] != EMPTY)
+				board.setGivenInformationAt(square / dimension, square % dimension, cells[square]);
+	}
+
+	@Override
+	public int getBoxSize()
+	{
+		return boxSize;
+	}
+
+	@Override
+	public int getDimension()
+	{
+		return dimension;
+	}
+
+	@Override
+	public int getAt(int row, int col) throws IllegalArgumentException
+	{
+		if (row < 0 || col < 0 || row >= dimension || col >= dimension)
+			throw new IllegalArgumentException("Invalid arguments in BoardEditor.getAt(int row, int col)");
+
+		return cells[row * dimension + col];
+	}
+
+	@Override
+	public boolean isGiven(int row, int col) throws IllegalArgumentException
+	{
+		if (row < 0 || col < 0 || row >= dimension || col >= dimension)
+			throw new IllegalArgumentException("Invalid arguments in BoardEditor.isGiven(int row, int col)");
+
+		return given[row * dimension + col];
+	}
+
+	/**
+	 * Stores a number in a square and brings the counts, conflicts and allowed numbers of the square and its
+	 * peers up to date.
+	 *
+	 * @param square - the flat index of the square
+	 * @param val - the number, 1 to dimension or EMPTY
+	 */
+	private void place(int square, int val)
+	{
+		int row = square / dimension;
+		int col = square % dimension;
+		int box = boxIndex(row, col);
+		int old = cells[square];
+
+		if (old == EMPTY)
+		{
+			unlink(square);
+			empty--;
+		}
+		else
+		{
+			// each equal number left in the units no longer pairs with this one
+			conflicts -= count(rowCounts, rowMasks, row, old, -1) + count(colCounts, colMasks, col, old, -1)
+				+ count(boxCounts, boxMasks, box, old, -1);
+		}
+
+		cells[square] = (byte) val;
+		if (val == EMPTY)
+		{
+			candidates[square] = allowed(row, col, box);
+			link(square);
+			empty++;
+		}
+		else
+		{
+			// and each equal number already in the units now pairs with this one
+			conflicts += count(rowCounts, rowMasks, row, val, 1) + count(colCounts, colMasks, col, val, 1)
+				+ count(boxCounts, boxMasks, box, val, 1) - 3;
+		}
+
+		// only the peers can have gained or lost an allowed number
+		for (int peer : peers[square])
+		{
+			if (cells[peer] != EMPTY)
+				continue;
+			int peerRow = peer / dimension;
+			int peerCol = peer % dimension;
+			int mask = allowed(peerRow, peerCol, boxIndex(peerRow, peerCol));
+			if (Integer.bitCount(mask) != Integer.bitCount(candidates[peer]))
+			{
+				unlink(peer);
+				candidates[peer] = mask;
+				link(peer);
+			}
+			else
+				candidates[peer] = mask;
+		}
+	}
+
+	/**
+	 * Adds to or takes from the count of a number in a unit, keeping the unit's mask in step.
+	 *
+	 * @param counts - the counts of that kind of unit
+	 * @param masks - the masks of that kind of unit
+	 * @param unit - the index of the unit
+	 * @param val - the number, 1 to dimension
+	 * @param delta - 1 or -1
+	 * @return the new count
+	 */
+	private int count(byte[] counts, int[] masks, int unit, int val, int delta)
+	{
+		int index = unit * dimension + val - 1;
+		int count = counts[index] + delta;
+		counts[index] = (byte) count;
+		if (count == 0)
+			masks[unit] &= ~(1 << (val - 1));
+		else
+			masks[unit] |= 1 << (val - 1);
+		return count;
+	}
+
+	/**
+	 * Works out the numbers not yet used in a square's row, column and box.
+	 *
+	 * @param row - the row index
+	 * @param col - the column index
+	 * @param box - the box index
+	 * @return the bitmask of allowed numbers
+	 */
+	private int allowed(int row, int col, int box)
+	{
+		return ~(rowMasks[row] | colMasks[col] | boxMasks[box]) & allDigits;
+	}
+
+	/**
+	 * Adds an empty square to the front of the list for its number of allowed numbers.
+	 *
+	 * @param square - the flat index of the square
+	 */
+	private void link(int square)
+	{
+		int count = Integer.bitCount(candidates[square]);
+		next[square] = first[count];
+		previous[square] = -1;
+		if (first[count] != -1)
+			previous[first[count]] = square;
+		first[count] = square;
+	}
+
+	/**
+	 * Takes an empty square out of the list for its number of allowed numbers.
+	 *
+	 * @param square - the flat index of the square
+	 */
+	private void unlink(int square)
+	{
+		if (previous[square] == -1)
+			first[Integer.bitCount(candidates[square])] = next[square];
+		else
+			next[previous[square]] = next[square];
+		if (next[square] != -1)
+			previous[next[square]] = previous[square];
+	}
+
+	/**
+	 * Packs a change into one trail entry: the square in the high bits, then the old and new numbers in five
+	 * bits each (0 for empty).
+	 *
+	 * @param square - the flat index of the square
+	 * @param old - the number before, or EMPTY
+	 * @param val - the number after, or EMPTY
+	 * @return the entry
+	 */
+	private static int change(int square, int old, int val)
+	{
+		return square << 10 | (old == EMPTY ? 0 : old) << 5 | (val == EMPTY ? 0 : val);
+	}
+
+	/**
+	 * Unpacks one of the numbers of a trail entry.
+	 *
+	 * @param bits - the entry, shifted so the number is in its lowest five bits
+	 * @return the number, or EMPTY
+	 */
+	private static int valueOf(int bits)
+	{
+		int val = bits & 31;
+		return val == 0 ? EMPTY : val;
+	}
+
+	/**
+	 * Finds which box a location belongs to, numbered like reading (left-right, top-down).
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @return the box index, 0 to dimension - 1
+	 */
+	private int boxIndex(int row, int col)
+	{
+		return (row / boxSize) * boxSize + col / boxSize;
+	}
+}
@@ -0,0 +1,78 @@
+package Sudoku;
+
+/**
+ * BoardKernel interface - checks many boards at once: the numbers each square could still take, and whether
+ * solutions are correct. The boards come in a BoardBatch, laid out so the same square of many boards can be
+ * worked on together.
+ *
+ * getInstance gives a kernel built on the Vector API (jdk.incubator.vector) when the JVM was started with that
+ * module (--add-modules jdk.incubator.vector), which handles as many boards per instruction as the processor's
+ * vectors hold ints, and a plain scalar kernel otherwise. Both give the same answers. Kernels keep no state,
+ * so one can be used by any number of threads.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public interface BoardKernel
+{
+	/**
+	 * Works out the numbers every square of every board of a batch could take without repeating one in its
+	 * row, column or box, as Matrix.getCandidates does (a number already in the square counts as used).
+	 *
+	 * @param boards - the boards
+	 * @param masks - where the bitmasks go (bit 0 is the number 1), laid out like the batch: the mask of
+	 *     square s of board b at s * boards.getCapacity() + b; at least squares * capacity long (what goes
+	 *     in the places of boards past boards.size() is up to the kernel)
+	 */
+	void candidates(BoardBatch boards, int[] masks);
+
+	/**
+	 * Checks whether each board of a batch is a correct solution: every square filled, no number repeated
+	 * in a row, column or box, and, if the puzzles are given, every number of the puzzle kept.
+	 *
+	 * @param solutions - the boards to check
+	 * @param puzzles - the puzzle of each board, at the same index in a batch of the same size and capacity,
+	 *     or null to check the boards alone
+	 * @param valid - where the answers go, one per board; at least solutions.size() long
+	 */
+	void validate(BoardBatch solutions, BoardBatch puzzles, boolean[] valid);
+
+	/**
+	 * Describes the kernel, for summaries.
+	 *
+	 * @return String - its name, like "vector (16 lanes)" or "scalar"
+	 */
+	String getName();
+
+	/**
+	 * Gets the fastest kernel this JVM can run.
+	 *
+	 * @return the vector kernel if the Vector API module is present, the scalar kernel if not
+	 */
+	static BoardKernel getInstance()
+	{
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+		{
+			try
+			{
+				// looked up by name so nothing touches the Vector API unless its module is there
+				return (BoardKernel) Class.forName("Sudoku.VectorBoardKernel").getDeclaredConstructor().newInstance();
+			}
+			catch (ReflectiveOperationException | LinkageError e)
+			{
+				// fall through to the scalar kernel
+			}
+		}
+		return scalar();
+	}
+
+	/**
+	 * Gets the scalar kernel, which runs on any JVM.
+	 *
+	 * @return the scalar kernel
+	 */
+	static BoardKernel scalar()
+	{
+		return new ScalarBoardKernel();
+	}
+}
@@ -0,0 +1,349 @@
+package Sudoku;
+
+// For the off-heap slabs
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BoardStore - holds puzzles and their solutions off the heap, so millions of them cost the garbage collector
+ * nothing.
+ *
+ * Each puzzle is a fixed-size record in direct memory: a byte per square of the puzzle (0 for empty),
+ * then a byte per square of its solution (all 0 until one is stored), 162 bytes for a 9x9 puzzle where a
+ * pair of Matrix objects costs around a kilobyte of heap. Records are kept in slabs of SLAB_SIZE bytes,
+ * allocated as the store grows.
+ *
+ * A record is read through a View, a flyweight Board that can be moved to any record without allocating,
+ * or loaded into a Matrix to be solved. Adding records is not safe while other threads use the store;
+ * reading through separate Views is.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class BoardStore
+{
+	/* SLAB_SIZE is the most bytes in one slab
+	 * EMPTY represents the value used for "empty" cells
+	 */
+	private static final int SLAB_SIZE = 1 << 24;
+	private static final int EMPTY = -1;
+
+	/* boxSize and dimension describe every board in the store
+	 * squares is the number of squares of a board, and stride the bytes of a record (two boards)
+	 * recordsPerSlab is the number of whole records in a slab
+	 * slabs are the blocks of direct memory the records live in
+	 * size is the number of records
+	 */
+	private int boxSize;
+	private int dimension;
+	private int squares;
+	private int stride;
+	private int recordsPerSlab;
+	private List<ByteBuffer> slabs;
+	private long size;
+
+	/**
+	 * BoardStore constructor, for an empty store
+	 *
+	 * @param boxSize - the box size of every board to be stored, 2-5
+	 */
+	public BoardStore(int boxSize) throws IllegalArgumentException
+	{
+		if (boxSize < 2 || boxSize > Matrix.MAX_BOX_SIZE)
+			throw new IllegalArgumentException("Invalid box size passed into BoardStore(int)");
+
+		this.boxSize = boxSize;
+		this.dimension = boxSize * boxSize;
+		this.squares = dimension * dimension;
+		this.stride = 2 * squares;
+		this.recordsPerSlab = SLAB_SIZE / stride;
+		this.slabs = new ArrayList<ByteBuffer>();
+	}
+
+	/**
+	 * Makes a store holding every puzzle of a packed file, without solutions. Records that are not a legal
+	 * puzzle are left out.
+	 *
+	 * @param in - the packed file
+	 * @return the store
+	 */
+	public static BoardStore of(PackedReader in)
+	{
+		BoardStore store = new BoardStore(in.getBoxSize());
+		Matrix board = new Matrix(in.getBoxSize());
+		for (long index = 0; index < in.size(); index++)
+			if (in.read(index, board))
+				store.add(board);
+		return store;
+	}
+
+	/**
+	 * Adds a puzzle, with no solution yet.
+	 *
+	 * @param puzzle - the puzzle, of the box size of the store (every number on it is stored)
+	 * @return the index of its record
+	 */
+	public long add(Board puzzle) throws IllegalArgumentException
+	{
+		if (puzzle.getBoxSize() != boxSize)
+			throw new IllegalArgumentException("Invalid board size passed into BoardStore.add(Board)");
+
+		if (size == (long) slabs.size() * recordsPerSlab)
+			slabs.add(ByteBuffer.allocateDirect(recordsPerSlab * stride));
+		long index = size++;
+		write(index, 0, puzzle);
+		return index;
+	}
+
+	/**
+	 * Stores the solution of a puzzle, replacing any solution stored before.
+	 *
+	 * @param index - the index of the puzzle's record
+	 * @param solution - the solved board, of the box size of the store
+	 */
+	public void setSolution(long index, Board solution) throws IllegalArgumentException
+	{
+		if (index < 0 || index >= size || solution.getBoxSize() != boxSize)
+			throw new IllegalArgumentException("Invalid arguments passed into BoardStore.setSolution(long, Board)");
+
+		write(index, squares, solution);
+	}
+
+	/**
+	 * Checks whether a solution has been stored for a puzzle.
+	 *
+	 * @param index - the index of the puzzle's record
+	 * @return whether it has one (a solution never has an empty square)
+	 */
+	public boolean hasSolution(long index) throws IllegalArgumentException
+	{
+		if (index < 0 || index >= size)
+			throw new IllegalArgumentException("Invalid index passed into BoardStore.hasSolution(long)");
+
+		return slab(index).get(offset(index) + squares) != 0;
+	}
+
+	/**
+	 * Loads a puzzle into a Matrix, replacing whatever it held, so it can be solved. Every number becomes
+	 * given information.
+	 *
+	 * @param index - the index of the puzzle's record
+	 * @param board - the Matrix to fill, of the box size of the store
+	 */
+	public void load(long index, Matrix board) throws IllegalArgumentException
+	{
+		if (index < 0 || index >= size || board.getBoxSize() != boxSize)
+			throw new IllegalArgumentException("Invalid arguments passed into BoardStore.load(long, Matrix)");
+
+		board.clear();
+		ByteBuffer slab = slab(index);
+		int offset = offset(index);
+		for (int square = 0; square < squares; square++)
+		{
+			int val = slab.get(offset + square);
+			if (val != 0)
+				board.setGivenInformationAt(square / dimension, square % dimension, val);
+		}
+	}
+
+	/**
+	 * Solves every puzzle that has no solution stored yet, storing the solutions found.
+	 *
+	 * @param solver - the solver to use
+	 * @return the number of puzzles solved
+	 */
+	public long solveAll(SudokuSolver solver)
+	{
+		Matrix board = new Matrix(boxSize);
+		long solved = 0;
+		for (long index = 0; index < size; index++)
+		{
+			if (hasSolution(index))
+				continue;
+
+			load(index, board);
+			if (solver.solve(board))
+			{
+				setSolution(index, board);
+				solved++;
+			}
+		}
+		return solved;
+	}
+
+	/**
+	 * Makes a View of the puzzles, positioned on the first record (or on none while the store is empty).
+	 *
+	 * @return the view
+	 */
+	public View puzzles()
+	{
+		return new View(0);
+	}
+
+	/**
+	 * Makes a View of the solutions, positioned on the first record (or on none while the store is empty). The
+	 * numbers of the puzzle count as given.
+	 *
+	 * @return the view
+	 */
+	public View solutions()
+	{
+		return new View(squares);
+	}
+
+	/**
+	 * Gets the number of records.
+	 *
+	 * @return the size
+	 */
+	public long size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets the box size of the boards in the store.
+	 *
+	 * @return the box size
+	 */
+	public int getBoxSize()
+	{
+		return boxSize;
+	}
+
+	/**
+	 * Gets the bytes of direct memory the store has allocated.
+	 *
+	 * @return the bytes
+	 */
+	public long getAllocatedBytes()
+	{
+		return (long) slabs.size() * recordsPerSlab * stride;
+	}
+
+	/**
+	 * Writes a board into half of a record.
+	 *
+	 * @param index - the index of the record
+	 * @param half - 0 for the puzzle, squares for the solution
+	 * @param board - the board
+	 */
+	private void write(long index, int half, Board board)
+	{
+		ByteBuffer slab = slab(index);
+		int offset = offset(index) + half;
+		for (int square = 0; square < squares; square++)
+			slab.put(offset + square, (byte) Math.max(board.getAt(square / dimension, square % dimension), 0));
+	}
+
+	/**
+	 * Finds the slab a record is in.
+	 *
+	 * @param index - the index of the record
+	 * @return the slab
+	 */
+	private ByteBuffer slab(long index)
+	{
+		return slabs.get((int) (index / recordsPerSlab));
+	}
+
+	/**
+	 * Finds where a record starts in its slab.
+	 *
+	 * @param index - the index of the record
+	 * @return the offset
+	 */
+	private int offset(long index)
+	{
+		return (int) (index % recordsPerSlab) * stride;
+	}
+
+	/**
+	 * View - a Board that reads one half (the puzzle or the solution) of whichever record it is moved to.
+	 * Moving it only changes two fields, so one View can walk the whole store without allocating.
+	 */
+	public class View implements Board
+	{
+		/* half is 0 for a view of puzzles, squares for a view of solutions
+		 * index is the record the view is on
+		 * slab and offset are where that record is
+		 */
+		private int half;
+		private long index;
+		private ByteBuffer slab;
+		private int offset;
+
+		/**
+		 * View constructor
+		 *
+		 * @param half - 0 for puzzles, squares for solutions
+		 */
+		private View(int half)
+		{
+			this.half = half;
+			this.index = -1;
+			if (size > 0)
+				moveTo(0);
+		}
+
+		/**
+		 * Moves the view to a record.
+		 *
+		 * @param index - the index of the record, 0 to size - 1
+		 * @return this view
+		 */
+		public View moveTo(long index) throws IllegalArgumentException
+		{
+			if (index < 0 || index >= size)
+				throw new IllegalArgumentException("Invalid index passed into BoardStore.View.moveTo(long)");
+
+			this.index = index;
+			this.slab = slab(index);
+			this.offset = offset(index);
+			return this;
+		}
+
+		/**
+		 * Gets the record the view is on.
+		 *
+		 * @return the index, or -1 if the store was empty when the view was made and it has not been moved
+		 */
+		public long getIndex()
+		{
+			return index;
+		}
+
+		@Override
+		public int getBoxSize()
+		{
+			return boxSize;
+		}
+
+		@Override
+		public int getDimension()
+		{
+			return dimension;
+		}
+
+		@Override
+		public int getAt(int row, int col) throws IllegalArgumentException
+		{
+			if (row < 0 || col < 0 || row >= dimension || col >= dimension || slab == null)
+				throw new IllegalArgumentException("Invalid arguments in BoardStore.View.getAt(int row, int col)");
+
+			int val = slab.get(offset + half + row * dimension + col);
+			return val == 0 ? EMPTY : val;
+		}
+
+		@Override
+		public boolean isGiven(int row, int col) throws IllegalArgumentException
+		{
+			if (row < 0 || col < 0 || row >= dimension || col >= dimension || slab == null)
+				throw new IllegalArgumentException("Invalid arguments in BoardStore.View.isGiven(int row, int col)");
+
+			return slab.get(offset + row * dimension + col) != 0;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package Sudoku;
+
+// For the stream the trace is written to
+import java.io.PrintStream;
+
+/**
+ * BoardTrace - the verbose output of a solver: the board as the search works on it, at a rate a person can read.
+ *
+ * Printing the board on every step turns a millisecond solve into minutes of console output, so the trace
+ * is sampled: the clock is only looked at every SAMPLE steps, and a board is shown only when at least the
+ * interval has passed since the last one. On the console each board is written out as soon as it is shown, so
+ * it can be watched as the search goes; any other stream gets the boards in large pieces, and flush writes
+ * whatever is left along with how many steps were not shown.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class BoardTrace
+{
+	/* DEFAULT_INTERVAL is the milliseconds between boards shown on the console
+	 * SAMPLE is how many steps go by between looks at the clock (a power of two)
+	 * FLUSH_SIZE is how many characters are buffered before they are written out, if not to the console
+	 */
+	public static final long DEFAULT_INTERVAL = 100;
+	private static final int SAMPLE = 64;
+	private static final int FLUSH_SIZE = 1 << 14;
+
+	/* out is where the trace goes, and console whether that is System.out or System.err
+	 * interval is the nanoseconds between boards shown, 0 to show every step
+	 * lastShown is when the last board was shown
+	 * calls counts the steps seen, shown counts the boards shown
+	 * text buffers the trace until it is written out
+	 */
+	private PrintStream out;
+	private boolean console;
+	private long interval;
+	private long lastShown;
+	private long calls;
+	private long shown;
+	private StringBuilder text;
+
+	/**
+	 * BoardTrace constructor
+	 *
+	 * @param out - where the trace goes
+	 * @param interval - the milliseconds between boards shown, 0 to show every step
+	 */
+	public BoardTrace(PrintStream out, long interval) throws IllegalArgumentException
+	{
+		if (interval < 0)
+			throw new IllegalArgumentException("Invalid interval passed into BoardTrace(PrintStream, long)");
+
+		this.out = out;
+		this.console = out == System.out || out == System.err;
+		this.interval = interval * 1000000;
+		// the first step is always shown
+		this.lastShown = System.nanoTime() - this.interval;
+		this.text = new StringBuilder(FLUSH_SIZE);
+	}
+
+	/**
+	 * Makes the trace verbose solvers use by default: System.out, a board every DEFAULT_INTERVAL milliseconds.
+	 *
+	 * @return the trace
+	 */
+	public static BoardTrace console()
+	{
+		return new BoardTrace(System.out, DEFAULT_INTERVAL);
+	}
+
+	/**
+	 * Records a step of the search, showing the board if it is time to.
+	 *
+	 * @param board - the board as it is now
+	 * @param step - the number of the step
+	 */
+	public void step(Matrix board, long step)
+	{
+		// the clock is only read on the first step and every SAMPLE steps after it
+		if (interval != 0 && (calls++ & (SAMPLE - 1)) != 0)
+			return;
+
+		long now = System.nanoTime();
+		if (now - lastShown < interval)
+			return;
+
+		lastShown = now;
+		shown++;
+		text.append("step ").append(step).append(":\n");
+		board.appendTo(text);
+		text.append('\n');
+		if (console)
+		{
+			write();
+			out.flush();
+		}
+		else if (text.length() >= FLUSH_SIZE)
+			write();
+	}
+
+	/**
+	 * Writes out whatever is still buffered, with a line telling how many steps were shown.
+	 *
+	 * @param steps - the number of steps the search took
+	 */
+	public void flush(long steps)
+	{
+		if (steps > shown)
+			text.append("(showed ").append(shown).append(" of ").append(steps).append(" steps)\n");
+		write();
+		out.flush();
+	}
+
+	/**
+	 * Writes the buffer out and empties it.
+	 */
+	private void write()
+	{
+		out.append(text);
+		text.setLength(0);
+	}
+}
@@ -0,0 +1,121 @@
+package Sudoku;
+
+/**
+ * CachingSolver - puts a SolutionCache in front of another solver.
+ *
+ * Each 9x9 puzzle is canonicalized first. If its canonical form is in the cache, the cached solution is
+ * mapped back onto the board and nothing is searched; otherwise the other solver solves it and the solution
+ * is kept in canonical form for the next copy of the puzzle. Canonicalizing costs a few hundred
+ * microseconds, so the cache pays off when the input repeats puzzles that are slower than that to solve.
+ * Boards of other sizes, and puzzles with too few clues to canonicalize, go straight to the other solver.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class CachingSolver implements SudokuSolver
+{
+	/* solver does the searching on a miss
+	 * cache holds the solutions, and may be shared with other CachingSolvers
+	 * canonicalizer finds the canonical form of each puzzle
+	 * stepsTaken is the solver's steps on a miss, 0 on a hit
+	 * metrics describes the last solve, including the time spent canonicalizing
+	 */
+	private SudokuSolver solver;
+	private SolutionCache cache;
+	private Canonicalizer canonicalizer;
+	private int stepsTaken;
+	private SolveMetrics metrics;
+
+	/**
+	 * CachingSolver constructor
+	 *
+	 * @param solver - the solver used on a miss
+	 * @param cache - the cache
+	 */
+	public CachingSolver(SudokuSolver solver, SolutionCache cache)
+	{
+		this.solver = solver;
+		this.cache = cache;
+		this.canonicalizer = new Canonicalizer();
+		this.metrics = new SolveMetrics();
+	}
+
+	@Override
+	public boolean solve(Matrix board)
+	{
+		return solve(board, null) == SolveOutcome.SOLVED;
+	}
+
+	@Override
+	public SolveOutcome solve(Matrix board, SolveControl control)
+	{
+		metrics.start();
+		stepsTaken = 0;
+		String form = board.getDimension() == Canonicalizer.DIMENSION ? canonicalizer.canonicalize(board) : null;
+		if (form == null)
+		{
+			SolveOutcome outcome = solver.solve(board, control);
+			stepsTaken = solver.getStepsTaken();
+			metrics.merge(solver.getMetrics(), 0);
+			metrics.finish();
+			return outcome;
+		}
+
+		byte[] solution = cache.get(form);
+		SolveOutcome outcome;
+		if (solution != null)
+		{
+			outcome = SolutionCache.isNoSolution(solution) ? SolveOutcome.NO_SOLUTION : SolveOutcome.SOLVED;
+			if (outcome == SolveOutcome.SOLVED)
+				canonicalizer.fromCanonical(solution, board);
+		}
+		else
+		{
+			outcome = solver.solve(board, control);
+			stepsTaken = solver.getStepsTaken();
+			metrics.merge(solver.getMetrics(), 0);
+			if (outcome == SolveOutcome.SOLVED)
+			{
+				solution = new byte[Canonicalizer.DIMENSION * Canonicalizer.DIMENSION];
+				canonicalizer.toCanonical(board, solution);
+			}
+			// a search that was stopped proved nothing, so it is not kept
+			if (outcome == SolveOutcome.SOLVED || outcome == SolveOutcome.NO_SOLUTION)
+				cache.put(form, solution);
+		}
+		metrics.finish();
+		return outcome;
+	}
+
+	@Override
+	public int getStepsTaken()
+	{
+		return stepsTaken;
+	}
+
+	@Override
+	public SolveMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Gets the solver used on a miss.
+	 *
+	 * @return the solver
+	 */
+	public SudokuSolver getSolver()
+	{
+		return solver;
+	}
+
+	/**
+	 * Gets the cache.
+	 *
+	 * @return the cache
+	 */
+	public SolutionCache getCache()
+	{
+		return cache;
+	}
+}
@@ -0,0 +1,460 @@
+package Sudoku;
+
+// For copying the digit labels
+import java.util.Arrays;
+
+/**
+ * Canonicalizer - finds the canonical form of a 9x9 puzzle, the same for every puzzle that is only a
+ * relabelled, reordered or transposed copy of it.
+ *
+ * The forms of a puzzle are everything reachable by transposing it, swapping bands (and stacks), swapping
+ * rows inside a band (and columns inside a stack), and relabelling the digits. Relabelling is done by first
+ * appearance: reading the squares row by row, the first digit seen becomes 1, the next new one 2, and so on,
+ * with empty squares as 0. The canonical form is the smallest of these 81-square strings.
+ *
+ * The search builds the string a few squares at a time: the transposition and the first row, then the
+ * column order a stack at a time (which fixes the first row), then the other rows a row at a time. Of the
+ * choices at each step only those giving the smallest squares are followed, and a branch is dropped as soon
+ * as its squares so far are larger than the best string found, so only ties are followed all the way down.
+ * The transformation that gave the best string is kept, so solutions can be carried between the puzzle and
+ * its canonical form.
+ *
+ * Nearly empty puzzles have so many symmetries that the ties never run out, so the search gives up after
+ * WORK_LIMIT choices and reports no canonical form; a puzzle with a real number of clues needs a few
+ * thousand at most.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class Canonicalizer
+{
+	/* DIMENSION and BOX_SIZE are the size of the puzzles canonicalized
+	 * CELLS is the number of squares
+	 * PERMUTATIONS lists every order of the three rows (or columns) of a band (or stack)
+	 * EQUAL is lessAt while the current string is equal to the best one so far
+	 * WORK_LIMIT is the most choices tried before the search gives up
+	 */
+	public static final int DIMENSION = 9;
+	private static final int BOX_SIZE = 3;
+	private static final int CELLS = DIMENSION * DIMENSION;
+	private static final int[][] PERMUTATIONS = { {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0} };
+	private static final int EQUAL = Integer.MAX_VALUE;
+	private static final int WORK_LIMIT = 20000;
+
+	/* grids holds the puzzle as it is and transposed, 0 for empty squares
+	 * grid is the one being searched, and transposed says which
+	 * rowOrder and colOrder give, for each canonical row and column, the row and column of grid it comes from
+	 * label gives the canonical digit of each digit of grid (0 while it has not appeared), and nextLabel
+	 *     is the canonical digit the next new one gets
+	 * savedLabels holds a copy of label for each choice on the way down, to undo it with
+	 * ties and smallestSquares hold, for each choice on the way down, the options tied for the smallest
+	 *     squares and those squares
+	 * current is the string being built, and best the smallest one found
+	 * haveBest says whether best holds anything yet
+	 * lessAt is the first position where current is smaller than best, or EQUAL
+	 * bestCount counts the times best was replaced, so a branch can tell whether it changed underneath it
+	 * work counts the choices tried for this puzzle
+	 * bestCells and bestLabels are the transformation that gave best: the original square of each
+	 *     canonical square, and the canonical digit of each original digit
+	 */
+	private int[][] grids;
+	private int[] grid;
+	private boolean transposed;
+	private int[] rowOrder;
+	private int[] colOrder;
+	private int[] label;
+	private int nextLabel;
+	private int[][] savedLabels;
+	private int[][] ties;
+	private byte[][] smallestSquares;
+	private byte[] current;
+	private byte[] best;
+	private boolean haveBest;
+	private int lessAt;
+	private long bestCount;
+	private int work;
+	private int[] bestCells;
+	private int[] bestLabels;
+
+	/**
+	 * Canonicalizer constructor. A Canonicalizer can be reused for many puzzles, one at a time.
+	 */
+	public Canonicalizer()
+	{
+		this.grids = new int[2][CELLS];
+		this.rowOrder = new int[DIMENSION];
+		this.colOrder = new int[DIMENSION];
+		this.label = new int[DIMENSION + 1];
+		this.savedLabels = new int[BOX_SIZE + DIMENSION - 1][DIMENSION + 1];
+		this.ties = new int[BOX_SIZE + DIMENSION - 1][BOX_SIZE * PERMUTATIONS.length];
+		this.smallestSquares = new byte[BOX_SIZE + DIMENSION - 1][DIMENSION];
+		this.current = new byte[CELLS];
+		this.best = new byte[CELLS];
+		this.bestCells = new int[CELLS];
+		this.bestLabels = new int[DIMENSION + 1];
+	}
+
+	/**
+	 * Finds the canonical form of a board and remembers how the board maps onto it. Every number on the
+	 * board counts, given or not.
+	 *
+	 * @param board - a 9x9 Matrix
+	 * @return the canonical form: 81 characters, 0 for empty squares; or null if the puzzle has too few clues
+	 *     to canonicalize in reasonable time
+	 */
+	public String canonicalize(Matrix board) throws IllegalArgumentException
+	{
+		if (board.getDimension() != DIMENSION)
+			throw new IllegalArgumentException("Invalid board size passed into Canonicalizer.canonicalize(Matrix)");
+
+		for (int row = 0; row < DIMENSION; row++)
+			for (int col = 0; col < DIMENSION; col++)
+			{
+				int val = Math.max(board.getAt(row, col), 0);
+				grids[0][row * DIMENSION + col] = val;
+				grids[1][col * DIMENSION + row] = val;
+			}
+
+		// only rows whose clues can be pushed furthest right can come first
+		int bestShape = Integer.MAX_VALUE;
+		for (int t = 0; t < 2; t++)
+			for (int row = 0; row < DIMENSION; row++)
+				bestShape = Math.min(bestShape, shape(grids[t], row));
+
+		haveBest = false;
+		work = 0;
+		for (int t = 0; t < 2; t++)
+		{
+			grid = grids[t];
+			transposed = t == 1;
+			for (int firstRow = 0; firstRow < DIMENSION; firstRow++)
+			{
+				if (shape(grid, firstRow) != bestShape)
+					continue;
+
+				rowOrder[0] = firstRow;
+				Arrays.fill(label, 0);
+				nextLabel = 1;
+				lessAt = haveBest ? EQUAL : -1;
+				chooseStack(0, 0);
+			}
+		}
+
+		if (work > WORK_LIMIT)
+			return null;
+
+		// digits missing from the puzzle get the labels left over, in order
+		for (int digit = 1; digit <= DIMENSION; digit++)
+			if (bestLabels[digit] == 0)
+				bestLabels[digit] = nextFreeLabel();
+
+		char[] form = new char[CELLS];
+		for (int i = 0; i < CELLS; i++)
+			form[i] = (char) ('0' + best[i]);
+		return new String(form);
+	}
+
+	/**
+	 * Carries a board of the last puzzle canonicalized over to the canonical form, e.g. its solution.
+	 *
+	 * @param board - a board of the last puzzle canonicalized
+	 * @param out - where the canonical squares go, 0 for empty
+	 */
+	public void toCanonical(Matrix board, byte[] out)
+	{
+		for (int i = 0; i < CELLS; i++)
+		{
+			int val = board.getAt(bestCells[i] / DIMENSION, bestCells[i] % DIMENSION);
+			out[i] = (byte) (val < 1 ? 0 : bestLabels[val]);
+		}
+	}
+
+	/**
+	 * Carries a canonical board, e.g. a solution of the canonical form, back onto the last puzzle canonicalized,
+	 * filling its empty squares.
+	 *
+	 * @param canonical - the canonical squares, 0 for empty
+	 * @param board - the board of the last puzzle canonicalized
+	 */
+	public void fromCanonical(byte[] canonical, Matrix board)
+	{
+		int[] digitOf = new int[DIMENSION + 1];
+		for (int digit = 1; digit <= DIMENSION; digit++)
+			digitOf[bestLabels[digit]] = digit;
+
+		for (int i = 0; i < CELLS; i++)
+		{
+			int row = bestCells[i] / DIMENSION;
+			int col = bestCells[i] % DIMENSION;
+			if (canonical[i] != 0 && board.getAt(row, col) == -1)
+				board.setAt(row, col, digitOf[canonical[i]]);
+		}
+	}
+
+	/**
+	 * Sums up where a row's clues are, as the number of clues in each stack sorted from fewest to most.
+	 * As the first row, the row with the smallest shape has the most empty squares in front, whatever
+	 * its digits are (and in a legal puzzle the digits of the first row are always labelled 1, 2, 3...).
+	 *
+	 * @param grid - the grid the row is in
+	 * @param row - the row
+	 * @return the clue counts of its stacks, fewest first, packed two bits each
+	 */
+	private static int shape(int[] grid, int row)
+	{
+		int[] counts = new int[BOX_SIZE];
+		for (int col = 0; col < DIMENSION; col++)
+			if (grid[row * DIMENSION + col] != 0)
+				counts[col / BOX_SIZE]++;
+		Arrays.sort(counts);
+		return counts[0] << 4 | counts[1] << 2 | counts[2];
+	}
+
+	/**
+	 * Picks the stack (and the order of its columns) that goes in each place, then moves on to the rows.
+	 *
+	 * @param place - which stack is being placed, 0-2
+	 * @param usedStacks - a bitmask of the stacks already placed
+	 */
+	private void chooseStack(int place, int usedStacks)
+	{
+		if (++work > WORK_LIMIT)
+			return;
+		if (place == BOX_SIZE)
+		{
+			chooseRow(1, 1 << rowOrder[0]);
+			return;
+		}
+
+		// only the choices that make these three squares smallest can lead to the smallest string
+		int depth = place;
+		int[] savedLabel = saveLabels(depth);
+		int savedNext = nextLabel;
+		int count = 0;
+		for (int stack = 0; stack < BOX_SIZE; stack++)
+		{
+			if ((usedStacks & 1 << stack) != 0)
+				continue;
+
+			for (int p = 0; p < PERMUTATIONS.length; p++)
+			{
+				placeStack(place, stack, p);
+				count = offer(depth, count, place * BOX_SIZE, (place + 1) * BOX_SIZE, stack * PERMUTATIONS.length + p);
+				System.arraycopy(savedLabel, 0, label, 0, label.length);
+				nextLabel = savedNext;
+			}
+		}
+
+		int savedLessAt = lessAt;
+		long savedCount = bestCount;
+		for (int i = 0; i < count; i++)
+		{
+			int stack = ties[depth][i] / PERMUTATIONS.length;
+			placeStack(place, stack, ties[depth][i] % PERMUTATIONS.length);
+			if (extend(place * BOX_SIZE, (place + 1) * BOX_SIZE))
+				chooseStack(place + 1, usedStacks | 1 << stack);
+			restore(savedLabel, savedNext, savedLessAt, savedCount);
+		}
+	}
+
+	/**
+	 * Puts a stack, with its columns in one of their orders, in a place.
+	 *
+	 * @param place - the place, 0-2
+	 * @param stack - the stack of grid
+	 * @param permutation - the index of the order in PERMUTATIONS
+	 */
+	private void placeStack(int place, int stack, int permutation)
+	{
+		for (int i = 0; i < BOX_SIZE; i++)
+			colOrder[place * BOX_SIZE + i] = stack * BOX_SIZE + PERMUTATIONS[permutation][i];
+	}
+
+	/**
+	 * Picks the row that goes in each place after the first: the rest of the first row's band, then a
+	 * whole band at a time.
+	 *
+	 * @param place - which row is being placed, 1-8
+	 * @param usedRows - a bitmask of the rows already placed
+	 */
+	private void chooseRow(int place, int usedRows)
+	{
+		if (++work > WORK_LIMIT)
+			return;
+		if (place == DIMENSION)
+		{
+			keep();
+			return;
+		}
+
+		// a new band can be any band with no rows placed; otherwise the band of the row before continues
+		int firstBand = 0;
+		int lastBand = BOX_SIZE - 1;
+		if (place % BOX_SIZE != 0)
+			firstBand = lastBand = rowOrder[place - 1] / BOX_SIZE;
+
+		// only the rows that come out smallest in this place can lead to the smallest string
+		int depth = BOX_SIZE + place - 1;
+		int[] savedLabel = saveLabels(depth);
+		int savedNext = nextLabel;
+		int count = 0;
+		for (int band = firstBand; band <= lastBand; band++)
+			for (int row = band * BOX_SIZE; row < (band + 1) * BOX_SIZE; row++)
+			{
+				if ((usedRows & 1 << row) != 0)
+					continue;
+
+				rowOrder[place] = row;
+				count = offer(depth, count, place * DIMENSION, (place + 1) * DIMENSION, row);
+				System.arraycopy(savedLabel, 0, label, 0, label.length);
+				nextLabel = savedNext;
+			}
+
+		int savedLessAt = lessAt;
+		long savedCount = bestCount;
+		for (int i = 0; i < count; i++)
+		{
+			int row = ties[depth][i];
+			rowOrder[place] = row;
+			if (extend(place * DIMENSION, (place + 1) * DIMENSION))
+				chooseRow(place + 1, usedRows | 1 << row);
+			restore(savedLabel, savedNext, savedLessAt, savedCount);
+		}
+	}
+
+	/**
+	 * Fills in the squares one choice adds and keeps the choice if they are no larger than those of the
+	 * choices offered before it. Choices that share everything before these squares and differ in them
+	 * cannot both lead to the smallest string, so only the ones tied for smallest are followed.
+	 *
+	 * @param depth - the number of choices made so far (after the first row)
+	 * @param count - the number of choices tied for smallest so far
+	 * @param from - the first position the choice fills
+	 * @param to - the position after the last one
+	 * @param choice - the choice, as it is stored in ties
+	 * @return the new number of choices tied for smallest
+	 */
+	private int offer(int depth, int count, int from, int to, int choice)
+	{
+		byte[] smallest = smallestSquares[depth];
+		int order = 0;
+		for (int pos = from; pos < to; pos++)
+		{
+			int val = grid[rowOrder[pos / DIMENSION] * DIMENSION + colOrder[pos % DIMENSION]];
+			if (val != 0)
+			{
+				if (label[val] == 0)
+					label[val] = nextLabel++;
+				val = label[val];
+			}
+			if (count == 0 || order < 0)
+				smallest[pos - from] = (byte) val;
+			else if (order == 0 && val != smallest[pos - from])
+			{
+				if (val > smallest[pos - from])
+					return count;
+				order = -1;
+				smallest[pos - from] = (byte) val;
+			}
+		}
+
+		if (order < 0)
+			count = 0;
+		ties[depth][count] = choice;
+		return count + 1;
+	}
+
+	/**
+	 * Fills in some squares of current, relabelling digits as they first appear, and compares them with best.
+	 *
+	 * @param from - the first position to fill
+	 * @param to - the position after the last one
+	 * @return false if current is now larger than best, so the branch can be dropped
+	 */
+	private boolean extend(int from, int to)
+	{
+		for (int pos = from; pos < to; pos++)
+		{
+			int val = grid[rowOrder[pos / DIMENSION] * DIMENSION + colOrder[pos % DIMENSION]];
+			if (val != 0)
+			{
+				if (label[val] == 0)
+					label[val] = nextLabel++;
+				val = label[val];
+			}
+			current[pos] = (byte) val;
+
+			// squares only need comparing while everything before them is equal to best
+			if (lessAt == EQUAL)
+			{
+				if (val > best[pos])
+					return false;
+				if (val < best[pos])
+					lessAt = pos;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copies the labels aside before a choice, so they can be put back for the next one.
+	 *
+	 * @param depth - the number of choices made so far (after the first row), which picks the copy to use
+	 * @return the copy
+	 */
+	private int[] saveLabels(int depth)
+	{
+		System.arraycopy(label, 0, savedLabels[depth], 0, label.length);
+		return savedLabels[depth];
+	}
+
+	/**
+	 * Undoes extend before the next choice is tried.
+	 *
+	 * @param savedLabel - the labels from before
+	 * @param savedNext - the next label from before
+	 * @param savedLessAt - lessAt from before
+	 * @param savedCount - bestCount from before
+	 */
+	private void restore(int[] savedLabel, int savedNext, int savedLessAt, long savedCount)
+	{
+		System.arraycopy(savedLabel, 0, label, 0, label.length);
+		nextLabel = savedNext;
+		// if best was replaced underneath, it now shares everything before this choice with current
+		lessAt = bestCount == savedCount ? savedLessAt : EQUAL;
+	}
+
+	/**
+	 * Keeps current as the new best, along with the transformation that gave it, unless it only ties.
+	 */
+	private void keep()
+	{
+		if (lessAt == EQUAL)
+			return;
+
+		System.arraycopy(current, 0, best, 0, CELLS);
+		for (int i = 0; i < CELLS; i++)
+		{
+			int row = rowOrder[i / DIMENSION];
+			int col = colOrder[i % DIMENSION];
+			bestCells[i] = transposed ? col * DIMENSION + row : row * DIMENSION + col;
+		}
+		System.arraycopy(label, 0, bestLabels, 0, label.length);
+		haveBest = true;
+		lessAt = EQUAL;
+		bestCount++;
+	}
+
+	/**
+	 * Finds the smallest canonical digit no original digit has yet.
+	 *
+	 * @return the label
+	 */
+	private int nextFreeLabel()
+	{
+		int used = 0;
+		for (int digit = 1; digit <= DIMENSION; digit++)
+			used |= 1 << bestLabels[digit];
+		return Integer.numberOfTrailingZeros(~used & ~1);
+	}
+}
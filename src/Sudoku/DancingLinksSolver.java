@@ -0,0 +1,339 @@
+package Sudoku;
+
+/**
+ * DancingLinksSolver - solves a Matrix as an exact cover problem with Knuth's Algorithm X on dancing links.
+ *
+ * Every possible placement (a number in a square) is a row, and every constraint (each square filled once,
+ * each number once per row, column, and box) is a column. A solution picks exactly one row for every column.
+ * The search always branches on the column with the fewest rows left, which keeps the worst case small.
+ * The links live in flat int arrays indexed by node, so the whole structure is allocated once per solver.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class DancingLinksSolver implements SudokuSolver, SolutionCounter
+{
+	/* EMPTY represents the value used for "empty" cells
+	 * ROOT is the node the column headers hang from; headers are nodes 1 to columns
+	 */
+	private static final int EMPTY = -1;
+	private static final int ROOT = 0;
+
+	/* boxSize and dimension describe the board size the arrays below are built for
+	 * columns is the number of constraints: square, row-number, column-number and box-number
+	 * rows is the number of possible placements (square, number)
+	 * left, right, up and down are the four links of every node
+	 * column is the header each node belongs to (a header is its own column)
+	 * rowOf is the placement each node stands for, square * dimension + (number - 1)
+	 * size is the number of rows still linked into each column
+	 * rowStart is the first node of each placement's four
+	 * choice is the row node picked at each level of the search
+	 * stepsTaken counts every placement tried
+	 * metrics describes the last solve
+	 */
+	private int boxSize;
+	private int dimension;
+	private int columns;
+	private int rows;
+	private int[] left;
+	private int[] right;
+	private int[] up;
+	private int[] down;
+	private int[] column;
+	private int[] rowOf;
+	private int[] size;
+	private int[] rowStart;
+	private int[] choice;
+	private int stepsTaken;
+	private SolveMetrics metrics;
+
+	/**
+	 * DancingLinksSolver constructor. The links are allocated for the first board solved,
+	 * and again only when a board of a different size comes along.
+	 */
+	public DancingLinksSolver()
+	{
+		this.metrics = new SolveMetrics();
+	}
+
+	@Override
+	public boolean solve(Matrix board)
+	{
+		return solve(board, null) == SolveOutcome.SOLVED;
+	}
+
+	@Override
+	public SolveOutcome solve(Matrix board, SolveControl control)
+	{
+		metrics.start();
+		boolean succeeded = search(board, 1, true, control) == 1;
+		metrics.finish();
+		return SolveOutcome.of(succeeded, control);
+	}
+
+	@Override
+	public long countSolutions(Matrix board, long limit)
+	{
+		return countSolutions(board, limit, null);
+	}
+
+	@Override
+	public long countSolutions(Matrix board, long limit, SolveControl control)
+	{
+		metrics.start();
+		long count = search(board, limit == 0 ? Long.MAX_VALUE : limit, false, control);
+		metrics.finish();
+		return count;
+	}
+
+	/**
+	 * The search itself: finds exact covers one after another until there are none left or enough were found.
+	 * Each cover found is treated as a dead end, so the search goes on from the same links.
+	 *
+	 * @param board - the Matrix to solve
+	 * @param limit - the number of solutions to stop at, at least 1
+	 * @param fill - whether to write the last solution into the board when the limit is reached
+	 * @param control - checked at every choice, or null
+	 * @return the number of solutions found (so far, if the control stopped the search)
+	 */
+	private long search(Matrix board, long limit, boolean fill, SolveControl control)
+	{
+		stepsTaken = 0;
+		long count = 0;
+		if (board.getBoxSize() != boxSize)
+			allocate(board.getBoxSize());
+		link();
+
+		// squares that already hold a number are chosen up front; a clash means there is no solution
+		for (int cell = 0; cell < dimension * dimension; cell++)
+		{
+			int val = board.getAt(cell / dimension, cell % dimension);
+			if (val == EMPTY)
+				continue;
+
+			int start = rowStart[cell * dimension + val - 1];
+			int node = start;
+			do
+			{
+				// a column whose header is unlinked was covered by an earlier number
+				if (right[left[column[node]]] != column[node])
+					return 0;
+				cover(column[node]);
+				node = right[node];
+			}
+			while (node != start);
+		}
+
+		int depth = 0;
+		boolean descend = true;
+		while (true)
+		{
+			if (descend)
+			{
+				// every constraint is covered, so the chosen rows are a solution
+				if (right[ROOT] == ROOT)
+				{
+					count++;
+					if (count >= limit)
+					{
+						for (int i = 0; fill && i < depth; i++)
+						{
+							int placement = rowOf[choice[i]];
+							int cell = placement / dimension;
+							board.setAt(cell / dimension, cell % dimension, placement % dimension + 1);
+						}
+						return count;
+					}
+
+					// keep looking: go back up a level as if this were a dead end
+					if (depth == 0)
+						return count;
+					depth--;
+					descend = false;
+					continue;
+				}
+
+				int col = smallestColumn();
+				cover(col);
+				choice[depth] = down[col];
+			}
+			else
+			{
+				// take back the row this level picked last time and move on to the next one
+				metrics.backtrack();
+				int node = choice[depth];
+				for (int other = left[node]; other != node; other = left[other])
+					uncover(column[other]);
+				choice[depth] = down[node];
+			}
+
+			int node = choice[depth];
+			if (node == column[node])
+			{
+				// the column has no rows left to try, so go back up a level
+				uncover(node);
+				if (depth == 0)
+					return count;
+				depth--;
+				descend = false;
+				continue;
+			}
+
+			// the board is only written once a solution is found, so stopping leaves nothing to undo
+			if (control != null && control.shouldStop())
+				return count;
+
+			stepsTaken++;
+			metrics.node(depth + 1);
+			for (int other = right[node]; other != node; other = right[other])
+				cover(column[other]);
+			depth++;
+			descend = true;
+		}
+	}
+
+	@Override
+	public int getStepsTaken()
+	{
+		return stepsTaken;
+	}
+
+	@Override
+	public SolveMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Allocates the link arrays for a board size.
+	 *
+	 * @param boxSize - the number of rows and columns in each box
+	 */
+	private void allocate(int boxSize)
+	{
+		this.boxSize = boxSize;
+		this.dimension = boxSize * boxSize;
+		this.columns = 4 * dimension * dimension;
+		this.rows = dimension * dimension * dimension;
+
+		int nodes = 1 + columns + 4 * rows;
+		this.left = new int[nodes];
+		this.right = new int[nodes];
+		this.up = new int[nodes];
+		this.down = new int[nodes];
+		this.column = new int[nodes];
+		this.rowOf = new int[nodes];
+		this.size = new int[columns + 1];
+		this.rowStart = new int[rows];
+		this.choice = new int[dimension * dimension];
+	}
+
+	/**
+	 * Builds the full exact cover structure, with every column and every row linked in.
+	 */
+	private void link()
+	{
+		// the column headers, in a circle with the root
+		for (int col = 0; col <= columns; col++)
+		{
+			left[col] = col == 0 ? columns : col - 1;
+			right[col] = col == columns ? 0 : col + 1;
+			up[col] = col;
+			down[col] = col;
+			column[col] = col;
+		}
+		for (int col = 1; col <= columns; col++)
+			size[col] = 0;
+
+		// four nodes per placement, one in each constraint column it satisfies
+		int node = columns + 1;
+		for (int placement = 0; placement < rows; placement++)
+		{
+			int cell = placement / dimension;
+			int digit = placement % dimension;
+			int row = cell / dimension;
+			int col = cell % dimension;
+			int box = (row / boxSize) * boxSize + col / boxSize;
+
+			rowStart[placement] = node;
+			appendNode(node, 1 + cell, placement);
+			appendNode(node + 1, 1 + dimension * dimension + row * dimension + digit, placement);
+			appendNode(node + 2, 1 + 2 * dimension * dimension + col * dimension + digit, placement);
+			appendNode(node + 3, 1 + 3 * dimension * dimension + box * dimension + digit, placement);
+			for (int i = 0; i < 4; i++)
+			{
+				left[node + i] = node + (i + 3) % 4;
+				right[node + i] = node + (i + 1) % 4;
+			}
+			node += 4;
+		}
+	}
+
+	/**
+	 * Links a node in at the bottom of a column.
+	 *
+	 * @param node - the node to link
+	 * @param col - the header of its column
+	 * @param placement - the placement the node stands for
+	 */
+	private void appendNode(int node, int col, int placement)
+	{
+		column[node] = col;
+		rowOf[node] = placement;
+		up[node] = up[col];
+		down[node] = col;
+		down[up[col]] = node;
+		up[col] = node;
+		size[col]++;
+	}
+
+	/**
+	 * Finds the column with the fewest rows left.
+	 *
+	 * @return the header of that column
+	 */
+	private int smallestColumn()
+	{
+		int best = right[ROOT];
+		for (int col = right[best]; col != ROOT && size[best] > 1; col = right[col])
+			if (size[col] < size[best])
+				best = col;
+		return best;
+	}
+
+	/**
+	 * Removes a column and every row that satisfies it.
+	 *
+	 * @param col - the header of the column
+	 */
+	private void cover(int col)
+	{
+		right[left[col]] = right[col];
+		left[right[col]] = left[col];
+		for (int row = down[col]; row != col; row = down[row])
+			for (int node = right[row]; node != row; node = right[node])
+			{
+				down[up[node]] = down[node];
+				up[down[node]] = up[node];
+				size[column[node]]--;
+			}
+	}
+
+	/**
+	 * Puts back a column removed by cover, in exactly the reverse order.
+	 *
+	 * @param col - the header of the column
+	 */
+	private void uncover(int col)
+	{
+		for (int row = up[col]; row != col; row = up[row])
+			for (int node = left[row]; node != row; node = left[node])
+			{
+				size[column[node]]++;
+				down[up[node]] = node;
+				up[down[node]] = node;
+			}
+		right[left[col]] = col;
+		left[right[col]] = col;
+	}
+}
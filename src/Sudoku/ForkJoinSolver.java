@@ -0,0 +1,201 @@
+package Sudoku;
+
+// For splitting the search across threads
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ForkJoinSolver - searches a single hard puzzle on every core at once.
+ *
+ * The top of the search tree is split into fork-join tasks: each task fills the squares that are forced,
+ * picks the square with the fewest options, and forks one task per option, each on its own copy of the
+ * board. Below the split depth, a task runs an ordinary PropagatingSolver on its copy. The pool's work
+ * stealing keeps idle threads busy, and the first task to find a solution cancels a shared SolveControl
+ * that makes every other task give up at its next guess. That control is a branch of the caller's, if any,
+ * so a deadline or cancellation stops every task as well.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class ForkJoinSolver implements SudokuSolver
+{
+	/* DEFAULT_SPLIT_DEPTH is how many levels of guesses are split into tasks unless told otherwise
+	 */
+	private static final int DEFAULT_SPLIT_DEPTH = 3;
+
+	/* pool runs the tasks
+	 * splitDepth is how many levels of guesses are split into tasks
+	 * stepsTaken counts every number placed by every task during the last solve
+	 * metrics adds up what every task did during the last solve; tasks lock it to add their counts
+	 */
+	private ForkJoinPool pool;
+	private int splitDepth;
+	private int stepsTaken;
+	private SolveMetrics metrics;
+
+	/**
+	 * ForkJoinSolver constructor using the common pool and the default split depth
+	 */
+	public ForkJoinSolver()
+	{
+		this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+	}
+
+	/**
+	 * ForkJoinSolver constructor
+	 *
+	 * @param pool - the pool that runs the tasks
+	 * @param splitDepth - how many levels of guesses are split into tasks, at least 0
+	 */
+	public ForkJoinSolver(ForkJoinPool pool, int splitDepth) throws IllegalArgumentException
+	{
+		if (splitDepth < 0)
+			throw new IllegalArgumentException("Invalid split depth passed into ForkJoinSolver(ForkJoinPool, int)");
+
+		this.pool = pool;
+		this.splitDepth = splitDepth;
+		this.metrics = new SolveMetrics();
+	}
+
+	@Override
+	public boolean solve(Matrix board)
+	{
+		return solve(board, null) == SolveOutcome.SOLVED;
+	}
+
+	@Override
+	public SolveOutcome solve(Matrix board, SolveControl control)
+	{
+		SolveControl search = new SolveControl(control);
+		AtomicReference<Matrix> solution = new AtomicReference<Matrix>();
+		LongAdder steps = new LongAdder();
+		metrics.start();
+		pool.invoke(new SearchTask(new Matrix(board), 0, search, solution, steps));
+		metrics.finish();
+		stepsTaken = (int) Math.min(Integer.MAX_VALUE, steps.sum());
+
+		if (solution.get() == null)
+			return SolveOutcome.of(false, control);
+
+		// copying the winning board back into the one we were given
+		for (int row = 0; row < board.getDimension(); row++)
+			for (int col = 0; col < board.getDimension(); col++)
+				board.setAt(row, col, solution.get().getAt(row, col));
+		return SolveOutcome.SOLVED;
+	}
+
+	@Override
+	public int getStepsTaken()
+	{
+		return stepsTaken;
+	}
+
+	@Override
+	public SolveMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * SearchTask - one branch of the search, working on its own copy of the board.
+	 */
+	private class SearchTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		/* board is this task's own copy of the board, with its branch's guess already placed
+		 * depth is how many guesses led to this branch
+		 * search is cancelled by whichever task finds a solution first, and stops when the caller's control does
+		 * solution holds the board of that task
+		 * steps counts the numbers placed by every task
+		 */
+		private Matrix board;
+		private int depth;
+		private SolveControl search;
+		private AtomicReference<Matrix> solution;
+		private LongAdder steps;
+
+		/**
+		 * SearchTask constructor
+		 *
+		 * @param board - this task's own copy of the board
+		 * @param depth - how many guesses led to this branch
+		 * @param search - the control cancelled when a solution is found
+		 * @param solution - where the solution goes
+		 * @param steps - where the steps are counted
+		 */
+		SearchTask(Matrix board, int depth, SolveControl search, AtomicReference<Matrix> solution, LongAdder steps)
+		{
+			this.board = board;
+			this.depth = depth;
+			this.search = search;
+			this.solution = solution;
+			this.steps = steps;
+		}
+
+		@Override
+		protected void compute()
+		{
+			// a sibling already won (or the caller gave up), so there is nothing left to do
+			if (search.shouldStop())
+				return;
+
+			PropagatingSolver solver = new PropagatingSolver(false);
+			solver.getMetrics().setDepthHistogram(metrics.isDepthHistogramEnabled());
+			if (depth >= splitDepth)
+			{
+				// deep enough: search the rest of this branch on this thread
+				boolean succeeded = solver.solve(board, search) == SolveOutcome.SOLVED;
+				steps.add(solver.getStepsTaken());
+				synchronized (metrics)
+				{
+					metrics.merge(solver.getMetrics(), depth);
+				}
+				if (succeeded && solution.compareAndSet(null, board))
+					search.cancel();
+				return;
+			}
+
+			int cell = solver.propagateAndPick(board);
+			steps.add(solver.getStepsTaken());
+			synchronized (metrics)
+			{
+				metrics.merge(solver.getMetrics(), depth);
+			}
+			if (cell == PropagatingSolver.DEAD_END)
+				return;
+			if (cell == PropagatingSolver.SOLVED)
+			{
+				if (solution.compareAndSet(null, board))
+					search.cancel();
+				return;
+			}
+
+			// one task per option of the square with the fewest options
+			int row = cell / board.getDimension();
+			int col = cell % board.getDimension();
+			int options = board.getCandidates(row, col);
+			List<SearchTask> branches = new ArrayList<SearchTask>(Integer.bitCount(options));
+			while (options != 0)
+			{
+				int bit = Integer.lowestOneBit(options);
+				options &= ~bit;
+
+				Matrix branch = new Matrix(board);
+				branch.setAt(row, col, Integer.numberOfTrailingZeros(bit) + 1);
+				steps.increment();
+				branches.add(new SearchTask(branch, depth + 1, search, solution, steps));
+			}
+			synchronized (metrics)
+			{
+				for (int i = 0; i < branches.size(); i++)
+					metrics.node(depth + 1);
+			}
+			invokeAll(branches);
+		}
+	}
+}
@@ -1,102 +1,228 @@
 package Sudoku;
 
+// For the zero-copy grid view
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
 /**
  * The Matrix class is a representation of a Sudoku grid.
  *
  * @author Nathan Jobe
  * @version 10/10/2019
  */
-public class Matrix
+public class Matrix implements Board
 {
-	// The number of number slots in each row, column, and box
-	private static final int DIMENSION = 9;
+	// The box size of a classic 9x9 grid, used when no box size is given
+	public static final int DEFAULT_BOX_SIZE = 3;
+	// The largest box size supported: the digit masks are ints, so 25 digits (5x5 boxes) is the limit
+	public static final int MAX_BOX_SIZE = 5;
 	// The value used to represent no information in a grid cell
 	private static final int EMPTY = -1;
-	// A 2d array to represent the grid itself
-	private int[][] grid;
-	// A 2d array to remember the given values that cannot be edited
-	private int[][] givenInformation;
+	// The random Zobrist keys of every number in every slot, per box size (the key of val at index i is at
+	// i * dimension + val - 1); the seed is fixed so a board hashes the same in every run
+	private static final long[][] ZOBRIST = zobristKeys(0x5D0C0B0A5EEDL);
+	// The rendering templates, built the first time each style and box size is printed
+	private static final Template[][] TEMPLATES = new Template[MatrixStyle.values().length][MAX_BOX_SIZE + 1];
+	// The number of rows and columns in each box
+	private int boxSize;
+	// The number of number slots in each row, column, and box (boxSize * boxSize)
+	private int dimension;
+	// A bitmask with one bit set for every digit (bit 0 is the digit 1)
+	private int allDigits;
+	// The grid itself, stored flat row by row (the slot at row r, column c is at index r * dimension + c)
+	private byte[] cells;
+	// A bitset remembering which slots hold given values that cannot be edited (bit i of word i / 64)
+	private long[] givens;
 	// A setting for which style of sudoku board is preferred in viewing
 	private MatrixStyle style;
+	// Bitmasks of the digits already used in each row, column, and box (box index is read left-right, top-down)
+	private int[] rowMasks;
+	private int[] colMasks;
+	private int[] boxMasks;
+	// How many times each digit is used in each row, column, and box (digit d of unit u is at u * dimension + d - 1),
+	// so a digit's bit is only cleared when its last copy in the unit goes, even on a board with duplicates
+	private byte[] rowCounts;
+	private byte[] colCounts;
+	private byte[] boxCounts;
+	// The Zobrist hash of the grid: the keys of every number in every slot XORed together, kept up to date
+	// on every change, so equal grids have equal hashes whatever order they were filled in
+	private long hash;
+	// The text of the last rendering, reused by every toString() so printing does not build the text from scratch
+	private char[] renderBuffer;
 
 	/** 
-	 * Empty Matrix constructor
+	 * Empty Matrix constructor for a classic 9x9 grid
 	 */
 	public Matrix()
 	{
+		this(DEFAULT_BOX_SIZE);
+	}
+
+	/**
+	 * Empty Matrix constructor for any box size: 3 makes a 9x9 grid, 4 a 16x16 grid, 5 a 25x25 grid.
+	 *
+	 * @param boxSize - the number of rows and columns in each box, 2-5
+	 */
+	public Matrix(int boxSize) throws IllegalArgumentException
+	{
+		if (boxSize < 2 || boxSize > MAX_BOX_SIZE)
+			throw new IllegalArgumentException("Invalid box size passed into public Matrix(int)");
+
+		this.boxSize = boxSize;
+		this.dimension = boxSize * boxSize;
+		this.allDigits = (1 << dimension) - 1;
 		// The grid should be square and uninitialized
-		this.grid = new int[DIMENSION][DIMENSION];
+		this.cells = new byte[dimension * dimension];
+		// Initializing whole Matrix to -1 to show it's empty
+		Arrays.fill(this.cells, (byte) EMPTY);
 		// The given information for an empty Matrix will also be empty
-		this.givenInformation = new int[DIMENSION][DIMENSION];
-		// Loops to iterate over entire grid and null-initiate slots
-		for (int rowIndex = 0; rowIndex < grid.length; rowIndex++)
-			for (int colIndex = 0; colIndex < grid[rowIndex].length; colIndex++)
-			{
-				// Initializing whole Matrix to -1 to show it's empty
-				this.grid[rowIndex][colIndex] = EMPTY;
-				// The given information also does not exist, so it should be initialized to EMPTY (-1) too
-				this.givenInformation[rowIndex][colIndex] = EMPTY;
-			}
+		this.givens = new long[(cells.length + 63) / 64];
 
 		// Default style
 		this.style = MatrixStyle.SIMPLE;
+		// No digits are used anywhere yet
+		this.rowMasks = new int[dimension];
+		this.colMasks = new int[dimension];
+		this.boxMasks = new int[dimension];
+		this.rowCounts = new byte[dimension * dimension];
+		this.colCounts = new byte[dimension * dimension];
+		this.boxCounts = new byte[dimension * dimension];
+	}
+
+	/**
+	 * Copy constructor - the new Matrix shares nothing with the original.
+	 *
+	 * @param other - the Matrix to copy
+	 */
+	public Matrix(Matrix other)
+	{
+		this.boxSize = other.boxSize;
+		this.dimension = other.dimension;
+		this.allDigits = other.allDigits;
+		this.cells = other.cells.clone();
+		this.givens = other.givens.clone();
+		this.style = other.style;
+		this.rowMasks = other.rowMasks.clone();
+		this.colMasks = other.colMasks.clone();
+		this.boxMasks = other.boxMasks.clone();
+		this.rowCounts = other.rowCounts.clone();
+		this.colCounts = other.colCounts.clone();
+		this.boxCounts = other.boxCounts.clone();
+		this.hash = other.hash;
 	}
 
 	/**
-	 * Matrix constructor with known information given.
+	 * Matrix constructor with known information given. The size of the grid comes from the array,
+	 * which must be 9x9, 16x16, or another square of a supported box size.
 	 *
 	 * @param givenInformation - known immutable information for the grid
 	 */
 	public Matrix(int[][] givenInformation) throws IllegalArgumentException
 	{
-		// to remove object dependency bc of Java storing arrays as objects
-		// copying all information passed into a new array
 		// givenInformation SHOULD BE CHECKED BEFORE BEING PASSED.
 		// Only checking for ILLEGAL values is done here (no duplicates, no solvability, etc).
-		if (givenInformation.length != DIMENSION || givenInformation.length != DIMENSION)
-			throw new IllegalArgumentException("Invalid array dimensions passed into public Matrix(int[][])");
+		this(boxSizeOf(givenInformation.length));
+		setGivenInformation(givenInformation);
+	}
 
-		// checking for illegal values in the givenInformation array
-		for (int rowIndex = 0; rowIndex < givenInformation.length; rowIndex++)
-			for (int colIndex = 0; colIndex < givenInformation[rowIndex].length; colIndex++)
-			{
-				if (givenInformation[rowIndex][colIndex] < EMPTY || givenInformation[rowIndex][colIndex] > DIMENSION ||
-					givenInformation[rowIndex][colIndex] == 0)
-					throw new IllegalArgumentException("Invalid values in the array passed in public Matrix(int[][])");
-			}
+	/**
+	 * Draws the Zobrist keys of every supported box size.
+	 *
+	 * @param seed - the seed of the random keys
+	 * @return the keys, indexed by box size
+	 */
+	private static long[][] zobristKeys(long seed)
+	{
+		SplittableRandom random = new SplittableRandom(seed);
+		long[][] keys = new long[MAX_BOX_SIZE + 1][];
+		for (int boxSize = 2; boxSize <= MAX_BOX_SIZE; boxSize++)
+		{
+			int dimension = boxSize * boxSize;
+			keys[boxSize] = new long[dimension * dimension * dimension];
+			for (int i = 0; i < keys[boxSize].length; i++)
+				keys[boxSize][i] = random.nextLong();
+		}
+		return keys;
+	}
 
-		// copies givenInformation array to avoid object dependencies
-		// this also initializes the board itself, in the same loop
-		this.grid = new int[DIMENSION][DIMENSION];
-		int[][] newGivenInformation = new int[DIMENSION][DIMENSION];
-		for (int rowIndex = 0; rowIndex < newGivenInformation.length; rowIndex++)
-			for (int colIndex = 0; colIndex < newGivenInformation[rowIndex].length; colIndex++)
-			{
-				newGivenInformation[rowIndex][colIndex] = givenInformation[rowIndex][colIndex];
-				this.grid[rowIndex][colIndex] = newGivenInformation[rowIndex][colIndex];
-			}
-		
-		// Obligatory assignments
-		this.givenInformation = newGivenInformation;
-		this.style = MatrixStyle.SIMPLE;
+	/**
+	 * Finds the box size of a grid from its number of rows.
+	 *
+	 * @param dimension - the number of rows
+	 * @return the box size
+	 */
+	private static int boxSizeOf(int dimension) throws IllegalArgumentException
+	{
+		for (int boxSize = 2; boxSize <= MAX_BOX_SIZE; boxSize++)
+			if (boxSize * boxSize == dimension)
+				return boxSize;
+		throw new IllegalArgumentException("Invalid array dimensions passed into public Matrix(int[][])");
+	}
+
+	/**
+	 * Gets the number of rows and columns in each box.
+	 *
+	 * @return the box size
+	 */
+	public int getBoxSize()
+	{
+		return boxSize;
+	}
+
+	/**
+	 * Gets the number of rows (and columns, and numbers) of the grid.
+	 *
+	 * @return the dimension, boxSize * boxSize
+	 */
+	public int getDimension()
+	{
+		return dimension;
+	}
+
+	/**
+	 * Gets the bitmask with one bit set for every number this grid can hold (bit 0 is the number 1).
+	 *
+	 * @return the bitmask of all numbers
+	 */
+	public int getAllDigits()
+	{
+		return allDigits;
 	}
 
 	/**
 	 * An accessor for the set (unchangeable) beginning information of a potential game.
 	 *
+	 * This builds a new snapshot every call; use isGiven(int, int) in loops.
+	 *
 	 * @return the preset grid values
 	 */
 	public int[][] getGivenInformation()
 	{
-		// Copying because Java arrays are objects
-		int[][] newGivenInformation = new int[DIMENSION][DIMENSION];
+		int[][] newGivenInformation = new int[dimension][dimension];
 		for (int rowIndex = 0; rowIndex < newGivenInformation.length; rowIndex++)
 			for (int colIndex = 0; colIndex < newGivenInformation[rowIndex].length; colIndex++)
-				newGivenInformation[rowIndex][colIndex] = givenInformation[rowIndex][colIndex];
+				newGivenInformation[rowIndex][colIndex] = isGiven(rowIndex, colIndex) ? getAt(rowIndex, colIndex) : EMPTY;
 
 		return newGivenInformation;
 	}
 
+	/**
+	 * Checks whether the value at a location is part of the given (unchangeable) information.
+	 *
+	 * @param row - the row index
+	 * @param col - the column index
+	 * @return whether that location holds a given value
+	 */
+	public boolean isGiven(int row, int col) throws IllegalArgumentException
+	{
+		if (row < 0 || col < 0 || row >= dimension || col >= dimension)
+			throw new IllegalArgumentException("Invalid arguments in isGiven(int row, int col)");
+
+		int index = row * dimension + col;
+		return (givens[index >>> 6] & (1L << index)) != 0;
+	}
+
 	/**
 	 * Gets the number (or lack thereof) stored at a location on the grid.
 	 *
@@ -107,10 +233,10 @@ public class Matrix
 	 */
 	public int getAt(int row, int col) throws IllegalArgumentException
 	{
-		if (row < 0 || col < 0 || row > 8 || col > 8)
+		if (row < 0 || col < 0 || row >= dimension || col >= dimension)
 			throw new IllegalArgumentException("Invalid arguments in getAt(int row, int col)");
 
-		return this.grid[row][col];
+		return this.cells[row * dimension + col];
 	}
 
 	/**
@@ -121,12 +247,12 @@ public class Matrix
 	 */
 	public int[] getRowAt(int row) throws IllegalArgumentException
 	{
-		if (row < 0 || row > 8)
+		if (row < 0 || row >= dimension)
 			throw new IllegalArgumentException("Invalid argument in getRowAt(int row)");
 
-		int[] rowData = new int[DIMENSION];
-		for (int i = 0; i < DIMENSION; i++)
-			rowData[i] = this.grid[row][i];
+		int[] rowData = new int[dimension];
+		for (int i = 0; i < dimension; i++)
+			rowData[i] = this.cells[row * dimension + i];
 
 		return rowData;
 	}
@@ -139,12 +265,12 @@ public class Matrix
 	 */
 	public int[] getColAt(int col) throws IllegalArgumentException
 	{
-		if (col < 0 || col > 8)
+		if (col < 0 || col >= dimension)
 			throw new IllegalArgumentException("Invalid argument in getColAt(int col)");
 
-		int[] colData = new int[DIMENSION];
-		for (int i = 0; i < DIMENSION; i++)
-			colData[i] = this.grid[i][col];
+		int[] colData = new int[dimension];
+		for (int i = 0; i < dimension; i++)
+			colData[i] = this.cells[i * dimension + col];
 		
 		return colData;
 	}
@@ -158,21 +284,21 @@ public class Matrix
 	 */
 	public int[] getCellAt(int row, int col) throws IllegalArgumentException
 	{
-		if (row < 0 || col < 0 || row > 8 || col > 8)
+		if (row < 0 || col < 0 || row >= dimension || col >= dimension)
 			throw new IllegalArgumentException("Invalid arguments in getCellAt(int row, int col)");
 
 		// getting the coordinates of the top-left corner of the grid square
-		int topRow = row - (row % 3);
-		int leftCol = col - (col % 3);
+		int topRow = row - (row % boxSize);
+		int leftCol = col - (col % boxSize);
 
 		int usedIndeces = 0;
-		int[] cellData = new int[DIMENSION];
+		int[] cellData = new int[dimension];
 
 		// storing values in the grid square in the array cellData, order like reading (left-right, top-down)
-		for (int i = topRow; i < topRow + 3; i++)
-			for (int j = leftCol; j < leftCol + 3; j++)
+		for (int i = topRow; i < topRow + boxSize; i++)
+			for (int j = leftCol; j < leftCol + boxSize; j++)
 			{
-				cellData[usedIndeces] = grid[i][j];
+				cellData[usedIndeces] = cells[i * dimension + j];
 				usedIndeces++;
 			}
 
@@ -182,52 +308,80 @@ public class Matrix
 	/**
 	 * Gets the entire grid.
 	 *
+	 * This builds a new snapshot every call; use getAt(int, int) or getView() in loops.
+	 *
 	 * @return the grid's information as a 2d int array
 	 */
 	public int[][] getGrid()
 	{
-		// Copying 2d array into another array bc of Java's object-array style
-		int[][] newGrid = new int[DIMENSION][DIMENSION];
+		int[][] newGrid = new int[dimension][dimension];
 		for (int rowIndex = 0; rowIndex < newGrid.length; rowIndex++)
 			for (int colIndex = 0; colIndex < newGrid[rowIndex].length; colIndex++)
-				newGrid[rowIndex][colIndex] = grid[rowIndex][colIndex];
+				newGrid[rowIndex][colIndex] = cells[rowIndex * dimension + colIndex];
 
 		return newGrid;
 	}
 
+	/**
+	 * Gets a read-only view of the grid without copying it. The view holds one byte per slot,
+	 * row by row, with EMPTY (-1) for blank slots, and it sees every later change to this Matrix.
+	 *
+	 * @return the grid as a read-only buffer
+	 */
+	public ByteBuffer getView()
+	{
+		return ByteBuffer.wrap(cells).asReadOnlyBuffer();
+	}
+
 	/**
 	 * Allows you to set the given information for a matrix.
 	 *
+	 * Every slot with a value becomes given and shows that value; every EMPTY slot stops being given.
+	 *
 	 * @param givenInformation - the new 2d array showing given values
 	 */
 	public void setGivenInformation(int[][] givenInformation) throws IllegalArgumentException
 	{
-		if (givenInformation.length != DIMENSION || givenInformation[0].length != DIMENSION)
+		if (givenInformation.length != dimension)
 			throw new IllegalArgumentException("Array passed into setGivenInformation is of the wrong dimensions");
 
-		// Copying 2d array to prevent dependencies in other places
-		int[][] newGivenInformation = new int[DIMENSION][DIMENSION];
-		for (int rowIndex = 0; rowIndex < newGivenInformation.length; rowIndex++)
-			for (int colIndex = 0; colIndex < newGivenInformation[rowIndex].length; colIndex++)
-				newGivenInformation[rowIndex][colIndex] = givenInformation[rowIndex][colIndex];
+		// checking for illegal values before anything is changed
+		for (int rowIndex = 0; rowIndex < givenInformation.length; rowIndex++)
+		{
+			if (givenInformation[rowIndex].length != dimension)
+				throw new IllegalArgumentException("Array passed into setGivenInformation is of the wrong dimensions");
 
-		this.givenInformation = newGivenInformation;
+			for (int colIndex = 0; colIndex < givenInformation[rowIndex].length; colIndex++)
+				if (givenInformation[rowIndex][colIndex] < EMPTY || givenInformation[rowIndex][colIndex] > dimension ||
+					givenInformation[rowIndex][colIndex] == 0)
+					throw new IllegalArgumentException("Invalid values in the array passed into setGivenInformation");
+		}
+
+		for (int rowIndex = 0; rowIndex < dimension; rowIndex++)
+			for (int colIndex = 0; colIndex < dimension; colIndex++)
+			{
+				int val = givenInformation[rowIndex][colIndex];
+				if (val == EMPTY)
+					markGiven(rowIndex * dimension + colIndex, false);
+				else
+					setGivenInformationAt(rowIndex, colIndex, val);
+			}
 	}
 
 	/**
 	 * Allows you to set given information at a particular index
 	 *
-	 * @param row - the row index, 0-8
-	 * @param col - the column index, 0-8
-	 * @param val - the value to be passed, 1-9
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @param val - the value to be passed, 1 to dimension
 	 */
 	public void setGivenInformationAt(int row, int col, int val) throws IllegalArgumentException
 	{
-		if (row < 0 || col < 0 || (val < 1 && val != EMPTY) || row > 8 || col > 8 || val > 9)
+		if (row < 0 || col < 0 || (val < 1 && val != EMPTY) || row >= dimension || col >= dimension || val > dimension)
 			throw new IllegalArgumentException("Invalid values passed to setGivenInformationAt(int,int,int)");
 
-		this.givenInformation[row][col] = val;
-		this.grid[row][col] = val;
+		markGiven(row * dimension + col, val != EMPTY);
+		replaceAt(row, col, val);
 	}
 
 	/**
@@ -240,14 +394,160 @@ public class Matrix
 	 */
 	public void setAt(int row, int col, int val) throws IllegalArgumentException
 	{
-		// row and col must be 0-8, val must be -1 OR 1-9
+		// row and col must be 0 to dimension - 1, val must be -1 OR 1 to dimension
 		if (row < 0 || col < 0 || val < EMPTY || val == 0 ||
-			row > 8 || col > 8 || val > 9)
+			row >= dimension || col >= dimension || val > dimension)
 			throw new IllegalArgumentException("Invalid arguments in setAt(int row, int col, int val");
 
 		// catches to make sure you can't set information where there is already givenInformation
-		if (givenInformation[row][col] == EMPTY)
-			grid[row][col] = val;
+		if (!isGiven(row, col))
+			replaceAt(row, col, val);
+	}
+
+	/**
+	 * Checks whether a value could be placed at a location without repeating a digit already used
+	 * in its row, column, or box. This only costs a few bit operations and never allocates.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @param val - the value to check, 1 to dimension
+	 * @return whether val is still unused in that row, column, and box
+	 */
+	public boolean isCandidate(int row, int col, int val) throws IllegalArgumentException
+	{
+		if (row < 0 || col < 0 || val < 1 || row >= dimension || col >= dimension || val > dimension)
+			throw new IllegalArgumentException("Invalid arguments in isCandidate(int row, int col, int val)");
+
+		return (getCandidates(row, col) & (1 << (val - 1))) != 0;
+	}
+
+	/**
+	 * Gets every value that could be placed at a location, as a bitmask where bit 0 is the digit 1
+	 * and bit dimension - 1 is the largest digit. A digit already stored in the location itself counts as used.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @return the bitmask of digits unused in that row, column, and box
+	 */
+	public int getCandidates(int row, int col) throws IllegalArgumentException
+	{
+		if (row < 0 || col < 0 || row >= dimension || col >= dimension)
+			throw new IllegalArgumentException("Invalid arguments in getCandidates(int row, int col)");
+
+		return ~(rowMasks[row] | colMasks[col] | boxMasks[boxIndex(row, col)]) & allDigits;
+	}
+
+	/**
+	 * Gets the Zobrist hash of the grid, which depends only on the numbers in it (not on which are given, or
+	 * on the order they were placed in). Reading it costs nothing; it is kept up to date by every change.
+	 *
+	 * @return the hash, 0 for an empty grid
+	 */
+	public long getHash()
+	{
+		return hash;
+	}
+
+	/**
+	 * Stores a value in the grid and keeps the digit masks and the hash in step with it.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @param val - the new value, 1 to dimension or EMPTY
+	 */
+	private void replaceAt(int row, int col, int val)
+	{
+		int index = row * dimension + col;
+
+		// the old digit (if any) is used once less in this row, column, and box
+		if (cells[index] != EMPTY)
+		{
+			markUsed(row, col, cells[index], -1);
+			hash ^= ZOBRIST[boxSize][index * dimension + cells[index] - 1];
+		}
+
+		cells[index] = (byte) val;
+		if (val != EMPTY)
+		{
+			markUsed(row, col, val, 1);
+			hash ^= ZOBRIST[boxSize][index * dimension + val - 1];
+		}
+	}
+
+	/**
+	 * Sets or clears the given flag of a slot.
+	 *
+	 * @param index - the flat index of the slot, row * dimension + col
+	 * @param given - whether the slot should be given
+	 */
+	private void markGiven(int index, boolean given)
+	{
+		if (given)
+			givens[index >>> 6] |= 1L << index;
+		else
+			givens[index >>> 6] &= ~(1L << index);
+	}
+
+	/**
+	 * Records a digit as used once more or once less in the row, column, and box of a location.
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @param val - the digit, 1 to dimension
+	 * @param delta - 1 or -1
+	 */
+	private void markUsed(int row, int col, int val, int delta)
+	{
+		count(rowCounts, rowMasks, row, val, delta);
+		count(colCounts, colMasks, col, val, delta);
+		count(boxCounts, boxMasks, boxIndex(row, col), val, delta);
+	}
+
+	/**
+	 * Adds to or takes from the count of a digit in a unit, keeping the unit's mask in step.
+	 *
+	 * @param counts - the counts of that kind of unit
+	 * @param masks - the masks of that kind of unit
+	 * @param unit - the index of the unit
+	 * @param val - the digit, 1 to dimension
+	 * @param delta - 1 or -1
+	 */
+	private void count(byte[] counts, int[] masks, int unit, int val, int delta)
+	{
+		int index = unit * dimension + val - 1;
+		counts[index] += delta;
+		if (counts[index] == 0)
+			masks[unit] &= ~(1 << (val - 1));
+		else
+			masks[unit] |= 1 << (val - 1);
+	}
+
+	/**
+	 * Finds which box a location belongs to, numbered like reading (left-right, top-down).
+	 *
+	 * @param row - the row index, 0 to dimension - 1
+	 * @param col - the column index, 0 to dimension - 1
+	 * @return the box index, 0 to dimension - 1
+	 */
+	private int boxIndex(int row, int col)
+	{
+		return (row / boxSize) * boxSize + col / boxSize;
+	}
+
+	/**
+	 * Empties every slot and forgets all given information, so one Matrix can be reused for many puzzles.
+	 */
+	public void clear()
+	{
+		Arrays.fill(cells, (byte) EMPTY);
+		Arrays.fill(givens, 0L);
+		Arrays.fill(rowMasks, 0);
+		Arrays.fill(colMasks, 0);
+		Arrays.fill(boxMasks, 0);
+		Arrays.fill(rowCounts, (byte) 0);
+		Arrays.fill(colCounts, (byte) 0);
+		Arrays.fill(boxCounts, (byte) 0);
+		hash = 0;
 	}
 
 	/**
@@ -267,95 +567,157 @@ public class Matrix
 	 */
 	public String toString()
 	{
-		// both these values depend on the style used, so they will be initialized in the switch statement
-		// textLineLength represents the number of characters (except spaces for formatting) in a line
-		// barrierIndeces represents the indeces where there should be lines
-		int textLineLength;
-		int[] barrierIndeces;
-		switch (style)
-		{	
-			// SIMPLE is a simplified style. Much preferred
-			case SIMPLE:
-				barrierIndeces = new int[] { 0, 4, 8, 12 };
-				textLineLength = 13;
-				break;
-			// COMPLEX is a complicated style. Optional, but not recommended by me.
-			case COMPLEX:
-				barrierIndeces = new int[] { 0, 1, 3, 5, 7, 8, 10, 12, 14, 15, 17, 19, 21, 22 };
-				textLineLength = 23;
-				break;
-			// Default choice will be style SIMPLE.
-			default:
-				barrierIndeces = new int[] { 0, 4, 8, 12 };
-				textLineLength = 13;
-				break;
+		int length = render();
+		return new String(renderBuffer, 0, length);
+	}
+
+	/**
+	 * Appends the same text as toString() without making a String of it, for printing boards often.
+	 *
+	 * @param out - where to append the text
+	 */
+	public void appendTo(StringBuilder out)
+	{
+		int length = render();
+		out.append(renderBuffer, 0, length);
+	}
+
+	/**
+	 * Renders the grid into renderBuffer: the template of the current style is copied in, and only the
+	 * number slots are written over.
+	 *
+	 * @return the number of characters rendered
+	 */
+	private int render()
+	{
+		Template template = TEMPLATES[style.ordinal()][boxSize];
+		if (template == null)
+		{
+			// building the same template twice in a race is harmless, so there is no lock
+			template = new Template(barrierIndeces(), dimension);
+			TEMPLATES[style.ordinal()][boxSize] = template;
 		}
 
-		// realGridRowIndex and realGridColumnIndex keep track of what values in the grid we
-		// are looking at at the moment.
-		// matrixAsString is the variable that holds the String form of the matrix object, that will be returned
-		int realGridRowIndex = 0;
-		int realGridColumnIndex = 0;
-		String matrixAsString = "";
+		char[] text = template.text;
+		if (renderBuffer == null || renderBuffer.length != text.length)
+			renderBuffer = new char[text.length];
+		System.arraycopy(text, 0, renderBuffer, 0, text.length);
 
-		// Begin iterating through all rows of TEXT (not necessarily information)
-		for (int textRow = 0; textRow < textLineLength; textRow++)
+		// the template holds blanks where the numbers go; each number is written right-aligned in its slot
+		int cellWidth = template.cellWidth;
+		for (int cell = 0; cell < cells.length; cell++)
 		{
-			// Begin iterating through all columns of TEXT (not necessarily information)
-			for (int textColumn = 0; textColumn < textLineLength; textColumn++)
-			{
-				// rowIsBarrier and colIsBarrier determine whether the current text row and column are just lines
-				boolean rowIsBarrier = false;
-				boolean colIsBarrier = false;
+			int val = cells[cell];
+			for (int end = template.slots[cell] + cellWidth - 1; val > 0; val /= 10)
+				renderBuffer[end--] = (char) ('0' + val % 10);
+		}
+		return text.length;
+	}
 
-				// This loop compares the current rows and columns with known barrier rows and columns.
-				for (int i = 0; i < barrierIndeces.length; i++)
+	/**
+	 * Works out which text rows and columns of toString() are lines, depending on the style field.
+	 *
+	 * For a 9x9 grid, SIMPLE gives { 0, 4, 8, 12 } and COMPLEX gives
+	 * { 0, 1, 3, 5, 7, 8, 10, 12, 14, 15, 17, 19, 21, 22 }.
+	 *
+	 * @return the indeces of the text rows (and columns) that are lines
+	 */
+	private int[] barrierIndeces()
+	{
+		// COMPLEX is a complicated style: double lines around boxes and single lines between numbers.
+		// Optional, but not recommended by me.
+		if (style == MatrixStyle.COMPLEX)
+		{
+			int[] barriers = new int[2 * boxSize + boxSize * (boxSize - 1) + 2];
+			int used = 0;
+			int textIndex = 0;
+			barriers[used++] = textIndex++;
+			barriers[used++] = textIndex++;
+			for (int box = 0; box < boxSize; box++)
+			{
+				for (int i = 0; i < boxSize; i++)
 				{
-					if (textRow == barrierIndeces[i])
-						rowIsBarrier = true;
-					if (textColumn == barrierIndeces[i])
-						colIsBarrier = true;
+					// skipping over the number, then a single line unless the box is over
+					textIndex++;
+					if (i < boxSize - 1)
+						barriers[used++] = textIndex++;
 				}
-				
-				// The next three conditions determine the type of character to use in barrier rows
-				if (rowIsBarrier && colIsBarrier)
-					matrixAsString += '+';
-				else if (rowIsBarrier)
-					matrixAsString += '-';
-				else if (colIsBarrier)
-					matrixAsString += '|';
-
-				// This condition arrives if we are looking at a valid number box.
-				else
-				{
-					if (grid[realGridRowIndex][realGridColumnIndex] == -1)
-						// This represents no already known information.
-						matrixAsString += ' ';
-					else
-						// This represents an actual number we've determined somehow.
-						matrixAsString += Integer.toString(grid[realGridRowIndex][realGridColumnIndex]);
+				barriers[used++] = textIndex++;
+				barriers[used++] = textIndex++;
+			}
+			return barriers;
+		}
 
-					// This chunk of logic determines how to increment row and column indexes for the game information
-					// we care about.
-					if (realGridColumnIndex <= 7)
-						realGridColumnIndex++;
+		// SIMPLE is a simplified style: lines around boxes only. Much preferred, and the default.
+		int[] barriers = new int[boxSize + 1];
+		for (int i = 0; i <= boxSize; i++)
+			barriers[i] = i * (boxSize + 1);
+		return barriers;
+	}
+
+	/**
+	 * Template - the text of an empty grid in one style and size, with the position of every number slot.
+	 */
+	private static final class Template
+	{
+		/* text is the whole rendering with every slot blank
+		 * slots holds the index in text where each square's slot starts, in row-major order
+		 * cellWidth is the number of characters in each slot, enough for the largest number
+		 */
+		private final char[] text;
+		private final int[] slots;
+		private final int cellWidth;
+
+		/**
+		 * Template constructor - lays out the text the same way for every board of this style and size.
+		 *
+		 * @param barrierIndeces - the text rows (and columns) that are lines
+		 * @param dimension - the number of rows and columns of the grid
+		 */
+		Template(int[] barrierIndeces, int dimension)
+		{
+			// textLineLength represents the number of characters (except spaces for formatting) in a line
+			int textLineLength = dimension + barrierIndeces.length;
+			this.cellWidth = Integer.toString(dimension).length();
+			this.slots = new int[dimension * dimension];
+
+			// which text rows and columns are lines, looked up once instead of for every character
+			boolean[] isBarrier = new boolean[textLineLength];
+			for (int i = 0; i < barrierIndeces.length; i++)
+				isBarrier[barrierIndeces[i]] = true;
+
+			StringBuilder layout = new StringBuilder(textLineLength * (textLineLength * (cellWidth + 1) + 1));
+			int slot = 0;
+			for (int textRow = 0; textRow < textLineLength; textRow++)
+			{
+				for (int textColumn = 0; textColumn < textLineLength; textColumn++)
+				{
+					// The next three conditions determine the type of character to use in barrier rows
+					// (wider numbers get their barrier characters padded out to the same width)
+					if (isBarrier[textRow] && isBarrier[textColumn])
+						layout.append('+').append("-".repeat(cellWidth - 1));
+					else if (isBarrier[textRow])
+						layout.append("-".repeat(cellWidth));
+					else if (isBarrier[textColumn])
+						layout.append('|').append(" ".repeat(cellWidth - 1));
+
+					// A number slot, left blank here and filled in for each board
 					else
 					{
-						realGridColumnIndex = 0;
-						realGridRowIndex++;
+						slots[slot++] = layout.length();
+						layout.append(" ".repeat(cellWidth));
 					}
+
+					// This space is necessary to keep the chart from being crushed horizontally.
+					layout.append(' ');
 				}
 
-				// This space is necessary to keep the chart from being crushed horizontally.
-				matrixAsString += ' ';
+				// This newline ends the current row and starts the next one.
+				layout.append('\n');
 			}
 
-			// This newline ends the current row and starts the next one.
-			matrixAsString += '\n';
+			this.text = new char[layout.length()];
+			layout.getChars(0, layout.length(), text, 0);
 		}
-
-		// Return our creation
-		return matrixAsString;
 	}
 }
-
@@ -0,0 +1,270 @@
+package Sudoku;
+
+// For converting files between the two formats
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+
+/**
+ * PackedFormat - a binary puzzle file format that is a fraction of the size of puzzle lines and needs no parsing.
+ *
+ * A packed file starts with a HEADER_SIZE-byte header: MAGIC, the format VERSION, the box size of every puzzle
+ * in the file, the bits per square, a reserved byte, and the number of puzzles as a long (all big-endian).
+ * Then come the puzzles, each a record of the same size: the squares row by row, 0 for empty. Grids up to
+ * 9x9 use 4 bits per square (the first square of each byte in the high half), so a 9x9 puzzle takes 41 bytes
+ * instead of an 82-byte line; bigger grids use a byte per square.
+ *
+ * Usage: java Sudoku.PackedFormat pack puzzles.txt puzzles.sdp
+ *        java Sudoku.PackedFormat unpack puzzles.sdp puzzles.txt
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public final class PackedFormat
+{
+	/* MAGIC starts every packed file
+	 * VERSION is the version of the layout described above
+	 * HEADER_SIZE is the number of bytes before the first record
+	 * COUNT_OFFSET is where the number of puzzles is in the header
+	 */
+	static final int MAGIC = 0x53444B50;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 16;
+	static final int COUNT_OFFSET = 8;
+
+	/**
+	 * No PackedFormat objects are needed; everything is static.
+	 */
+	private PackedFormat()
+	{
+	}
+
+	/**
+	 * The main method - for converting puzzle files to and from the packed format.
+	 *
+	 * @param args - command line arguments: pack or unpack, then the file to read and the file to write
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length != 3 || !(args[0].equals("pack") || args[0].equals("unpack")))
+		{
+			System.err.println("Usage: java Sudoku.PackedFormat pack|unpack from to");
+			return;
+		}
+
+		try
+		{
+			if (args[0].equals("pack"))
+				pack(args[1], args[2]);
+			else
+				unpack(args[1], args[2]);
+		}
+		catch (IllegalArgumentException iae)
+		{
+			System.err.println(iae.getMessage());
+		}
+	}
+
+	/**
+	 * Packs a file of puzzle lines. Every puzzle must be the size of the first one; blank lines and # comments
+	 * are skipped, and lines that are not a legal puzzle are left out and counted.
+	 *
+	 * @param from - the puzzle line file
+	 * @param to - the packed file to write
+	 */
+	private static void pack(String from, String to) throws IOException, IllegalArgumentException
+	{
+		long packed = 0;
+		long skipped = 0;
+		PackedWriter out = null;
+		Matrix board = null;
+		try (BufferedReader in = new BufferedReader(new FileReader(from)))
+		{
+			String line;
+			while ((line = in.readLine()) != null)
+			{
+				if (BatchSolver.isSkipped(line))
+					continue;
+
+				line = line.trim();
+				if (out == null)
+				{
+					int boxSize = PuzzleFormat.boxSizeOf(line.length());
+					if (boxSize == 0)
+						throw new IllegalArgumentException("The first puzzle of " + from + " is not a supported size");
+					board = new Matrix(boxSize);
+					out = new PackedWriter(Paths.get(to), boxSize);
+				}
+
+				if (PuzzleFormat.parse(line, board))
+				{
+					out.write(board);
+					packed++;
+				}
+				else
+					skipped++;
+			}
+		}
+		finally
+		{
+			if (out != null)
+				out.close();
+		}
+		System.err.println("packed " + packed + " puzzles" + (skipped == 0 ? "" : ", left out " + skipped + " invalid lines"));
+	}
+
+	/**
+	 * Writes every puzzle of a packed file as a puzzle line.
+	 *
+	 * @param from - the packed file
+	 * @param to - the puzzle line file to write
+	 */
+	private static void unpack(String from, String to) throws IOException, IllegalArgumentException
+	{
+		PackedReader in = new PackedReader(Paths.get(from));
+		Matrix board = new Matrix(in.getBoxSize());
+		StringBuilder line = new StringBuilder(board.getDimension() * board.getDimension() + 1);
+		long skipped = 0;
+		try (BufferedWriter out = new BufferedWriter(new FileWriter(to), 1 << 16))
+		{
+			for (long index = 0; index < in.size(); index++)
+			{
+				if (!in.read(index, board))
+				{
+					skipped++;
+					continue;
+				}
+				line.setLength(0);
+				PuzzleFormat.format(board, line);
+				out.append(line).append('\n');
+			}
+		}
+		System.err.println("unpacked " + (in.size() - skipped) + " puzzles"
+			+ (skipped == 0 ? "" : ", left out " + skipped + " invalid records"));
+	}
+
+	/**
+	 * Gets the bits each square takes in a record.
+	 *
+	 * @param boxSize - the box size of the puzzles
+	 * @return 4 for grids up to 9x9, 8 for bigger ones
+	 */
+	static int bitsPerSquare(int boxSize)
+	{
+		return boxSize * boxSize < 16 ? 4 : 8;
+	}
+
+	/**
+	 * Gets the size of a record.
+	 *
+	 * @param boxSize - the box size of the puzzles
+	 * @return the bytes each puzzle takes
+	 */
+	public static int recordSize(int boxSize)
+	{
+		int squares = boxSize * boxSize * boxSize * boxSize;
+		return (squares * bitsPerSquare(boxSize) + 7) / 8;
+	}
+
+	/**
+	 * Writes a board as a record at the buffer's position, moving the position past it.
+	 *
+	 * @param board - the board to write (given or not, every number is written)
+	 * @param out - the buffer, with at least recordSize bytes left
+	 */
+	public static void encode(Board board, ByteBuffer out)
+	{
+		int dimension = board.getDimension();
+		int squares = dimension * dimension;
+		if (bitsPerSquare(board.getBoxSize()) == 8)
+		{
+			for (int index = 0; index < squares; index++)
+				out.put((byte) Math.max(board.getAt(index / dimension, index % dimension), 0));
+			return;
+		}
+
+		for (int index = 0; index < squares; index += 2)
+		{
+			int high = Math.max(board.getAt(index / dimension, index % dimension), 0);
+			int low = index + 1 < squares ? Math.max(board.getAt((index + 1) / dimension, (index + 1) % dimension), 0) : 0;
+			out.put((byte) (high << 4 | low));
+		}
+	}
+
+	/**
+	 * Reads a record into a board, replacing whatever it held. Every number becomes given information.
+	 * The buffer's position is not used or moved, so many threads can decode from one buffer.
+	 *
+	 * @param in - the buffer
+	 * @param position - where the record starts
+	 * @param board - the Matrix to fill, of the size the record is for
+	 * @return boolean - false if the record holds a number too large for the board or repeats a number
+	 *     in a row, column, or box (the board is then only partly filled)
+	 */
+	public static boolean decode(ByteBuffer in, int position, Matrix board)
+	{
+		board.clear();
+		int dimension = board.getDimension();
+		int squares = dimension * dimension;
+		boolean nibbles = bitsPerSquare(board.getBoxSize()) == 4;
+		for (int index = 0; index < squares; index++)
+		{
+			int val;
+			if (nibbles)
+			{
+				int packed = in.get(position + (index >> 1));
+				val = (index & 1) == 0 ? (packed >> 4) & 0xF : packed & 0xF;
+			}
+			else
+				val = in.get(position + index) & 0xFF;
+			if (val == 0)
+				continue;
+
+			if (val > dimension)
+				return false;
+			int row = index / dimension;
+			int col = index % dimension;
+			if (!board.isCandidate(row, col, val))
+				return false;
+			board.setGivenInformationAt(row, col, val);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks that a header is the header of a packed file, and reads the box size from it.
+	 *
+	 * @param header - the buffer holding the header at position 0
+	 * @return the box size, or 0 if this is not a packed file this version can read
+	 */
+	static int boxSizeOf(ByteBuffer header)
+	{
+		if (header.limit() < HEADER_SIZE || header.getInt(0) != MAGIC || header.get(4) != VERSION)
+			return 0;
+		int boxSize = header.get(5);
+		if (boxSize < 2 || boxSize > Matrix.MAX_BOX_SIZE || header.get(6) != bitsPerSquare(boxSize))
+			return 0;
+		return boxSize;
+	}
+
+	/**
+	 * Writes the header of a packed file at the buffer's position, moving the position past it.
+	 *
+	 * @param boxSize - the box size of the puzzles
+	 * @param count - the number of puzzles
+	 * @param out - the buffer
+	 */
+	static void putHeader(int boxSize, long count, ByteBuffer out)
+	{
+		out.putInt(MAGIC);
+		out.put((byte) VERSION);
+		out.put((byte) boxSize);
+		out.put((byte) bitsPerSquare(boxSize));
+		out.put((byte) 0);
+		out.putLong(count);
+	}
+}
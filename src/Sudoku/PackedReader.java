@@ -0,0 +1,128 @@
+package Sudoku;
+
+// For mapping the packed file
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PackedReader - reads puzzles from a file in the PackedFormat by mapping it into memory.
+ *
+ * Nothing is copied or parsed on the way: a puzzle is decoded from the mapped bytes straight into a
+ * Matrix the caller reuses, so reading millions of puzzles allocates nothing per puzzle. Any puzzle can be
+ * read by its index, and reading never moves a shared position, so many threads can read one PackedReader
+ * at once. Files larger than one mapping can hold are mapped in several windows.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class PackedReader
+{
+	/* WINDOW_SIZE is the most bytes mapped at once
+	 */
+	private static final long WINDOW_SIZE = 1L << 30;
+
+	/* windows are the mapped pieces of the file, each holding recordsPerWindow whole records
+	 * boxSize is the box size of every puzzle in the file
+	 * recordSize is the bytes each puzzle takes
+	 * count is the number of puzzles
+	 */
+	private ByteBuffer[] windows;
+	private int boxSize;
+	private int recordSize;
+	private long recordsPerWindow;
+	private long count;
+
+	/**
+	 * PackedReader constructor - maps a packed file and checks its header.
+	 *
+	 * @param file - the packed file
+	 */
+	public PackedReader(Path file) throws IOException, IllegalArgumentException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			long length = channel.size();
+			ByteBuffer header = ByteBuffer.allocate(PackedFormat.HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header, header.position()) > 0)
+				continue;
+			header.flip();
+			this.boxSize = PackedFormat.boxSizeOf(header);
+			if (boxSize == 0)
+				throw new IllegalArgumentException("Invalid packed file passed into PackedReader(Path): " + file);
+
+			this.recordSize = PackedFormat.recordSize(boxSize);
+			this.count = header.getLong(PackedFormat.COUNT_OFFSET);
+			if (count < 0 || count > (length - PackedFormat.HEADER_SIZE) / recordSize)
+				throw new IllegalArgumentException("Damaged packed file passed into PackedReader(Path): " + file
+					+ " is too short for its " + count + " puzzles");
+
+			this.recordsPerWindow = WINDOW_SIZE / recordSize;
+			this.windows = new ByteBuffer[(int) ((count + recordsPerWindow - 1) / recordsPerWindow)];
+			for (int i = 0; i < windows.length; i++)
+			{
+				long first = i * recordsPerWindow;
+				long records = Math.min(recordsPerWindow, count - first);
+				windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, PackedFormat.HEADER_SIZE + first * recordSize,
+					records * recordSize);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a file is a packed file, by its first bytes.
+	 *
+	 * @param file - the file
+	 * @return whether it starts with a packed header this version can read
+	 */
+	public static boolean isPacked(Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			ByteBuffer header = ByteBuffer.allocate(PackedFormat.HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header) > 0)
+				continue;
+			header.flip();
+			return PackedFormat.boxSizeOf(header) != 0;
+		}
+	}
+
+	/**
+	 * Reads one puzzle into a board, replacing whatever it held. Every number becomes given information.
+	 *
+	 * @param index - which puzzle, 0 to size - 1
+	 * @param board - the Matrix to fill, of the box size the file is for
+	 * @return boolean - false if the record is not a legal puzzle (the board is then only partly filled)
+	 */
+	public boolean read(long index, Matrix board) throws IllegalArgumentException
+	{
+		if (index < 0 || index >= count || board.getBoxSize() != boxSize)
+			throw new IllegalArgumentException("Invalid arguments passed into PackedReader.read(long, Matrix)");
+
+		int window = (int) (index / recordsPerWindow);
+		int position = (int) (index % recordsPerWindow) * recordSize;
+		return PackedFormat.decode(windows[window], position, board);
+	}
+
+	/**
+	 * Gets the number of puzzles in the file.
+	 *
+	 * @return the count
+	 */
+	public long size()
+	{
+		return count;
+	}
+
+	/**
+	 * Gets the box size of the puzzles in the file.
+	 *
+	 * @return the box size
+	 */
+	public int getBoxSize()
+	{
+		return boxSize;
+	}
+}
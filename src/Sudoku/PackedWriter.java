@@ -0,0 +1,110 @@
+package Sudoku;
+
+// For writing the packed file
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PackedWriter - writes puzzles to a file in the PackedFormat.
+ *
+ * Records are collected in a buffer and written out in large pieces; the number of puzzles in the header
+ * is filled in when the writer is closed.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class PackedWriter implements Closeable
+{
+	/* BUFFER_SIZE is how many bytes are collected before they are written out
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/* channel is the packed file
+	 * buffer collects records until it is full
+	 * boxSize is the box size of every puzzle in the file
+	 * count is the number of puzzles written
+	 */
+	private FileChannel channel;
+	private ByteBuffer buffer;
+	private int boxSize;
+	private long count;
+
+	/**
+	 * PackedWriter constructor - creates (or empties) the packed file.
+	 *
+	 * @param file - the file to write to
+	 * @param boxSize - the box size of every puzzle to be written, 2-5
+	 */
+	public PackedWriter(Path file, int boxSize) throws IOException, IllegalArgumentException
+	{
+		if (boxSize < 2 || boxSize > Matrix.MAX_BOX_SIZE)
+			throw new IllegalArgumentException("Invalid box size passed into PackedWriter(Path, int)");
+
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+			StandardOpenOption.TRUNCATE_EXISTING);
+		this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, PackedFormat.recordSize(boxSize)));
+		this.boxSize = boxSize;
+		PackedFormat.putHeader(boxSize, 0, buffer);
+	}
+
+	/**
+	 * Writes one puzzle.
+	 *
+	 * @param board - the puzzle, of the box size the file is for
+	 */
+	public void write(Board board) throws IOException, IllegalArgumentException
+	{
+		if (board.getBoxSize() != boxSize)
+			throw new IllegalArgumentException("Invalid board size passed into PackedWriter.write(Board)");
+
+		if (buffer.remaining() < PackedFormat.recordSize(boxSize))
+			drain();
+		PackedFormat.encode(board, buffer);
+		count++;
+	}
+
+	/**
+	 * Gets the number of puzzles written so far.
+	 *
+	 * @return the count
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Writes out everything buffered, fills in the number of puzzles, and closes the file.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			drain();
+			ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+			header.putLong(count).flip();
+			while (header.hasRemaining())
+				channel.write(header, PackedFormat.COUNT_OFFSET + header.position());
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+
+	/**
+	 * Writes the buffer out and empties it.
+	 */
+	private void drain() throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+}
@@ -0,0 +1,336 @@
+package Sudoku;
+
+// For reading puzzles, writing solutions, and running the workers
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+/**
+ * ParallelBatchSolver - solves a file of puzzles on several threads and writes the results in input order.
+ *
+ * The work runs as a three-stage pipeline. The calling thread reads puzzle lines (or, for a packed file, just
+ * counts off puzzle indexes, which the workers decode themselves) and cuts them into chunks.
+ * A fixed pool of workers solves the chunks; each worker thread keeps its own BatchSolver, so its Matrix
+ * and solver are reused for every puzzle it sees. A writer thread takes the chunks back in the order they
+ * were read and writes their results. The queue between the reader and the writer is bounded, so the
+ * reader can never run far ahead of the writer. A SolutionCache, if set, is shared by every worker.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class ParallelBatchSolver
+{
+	/* CHUNK_SIZE is the number of puzzles handed to a worker at once
+	 * END is put on the queue after the last chunk so the writer knows to stop
+	 */
+	private static final int CHUNK_SIZE = 256;
+	private static final CompletableFuture<StringBuilder> END = CompletableFuture.completedFuture(null);
+
+	/* mode is the search used for every puzzle
+	 * threads is the number of worker threads
+	 * countLimit is passed on to every worker's BatchSolver
+	 * cache is shared by every worker's BatchSolver, or is null
+	 * timeout is passed on to every worker's BatchSolver
+	 * tableBytes and eviction describe the TranspositionTable each worker gets (none if tableBytes is 0),
+	 *     and tables holds those of the last solveAll so their counts can be read at the end
+	 * workers holds every worker's BatchSolver of the current solveAll so their stats can be merged at the end
+	 * stats holds the merged stats once solveAll is done (each solveAll starts them afresh)
+	 * failure holds the first error the writer ran into during the current solveAll, if any
+	 */
+	private SolveMode mode;
+	private int threads;
+	private long countLimit;
+	private SolutionCache cache;
+	private long timeout;
+	private long tableBytes;
+	private TranspositionTable.Eviction eviction;
+	private List<TranspositionTable> tables;
+	private List<BatchSolver> workers;
+	private BatchStats stats;
+	private volatile Throwable failure;
+
+	/**
+	 * ParallelBatchSolver constructor
+	 *
+	 * @param mode - the search used for every puzzle
+	 * @param threads - the number of worker threads, at least 1
+	 */
+	public ParallelBatchSolver(SolveMode mode, int threads) throws IllegalArgumentException
+	{
+		this(mode, threads, BatchSolver.SOLVE);
+	}
+
+	/**
+	 * ParallelBatchSolver constructor for counting solutions
+	 *
+	 * @param mode - the search used for every puzzle
+	 * @param threads - the number of worker threads, at least 1
+	 * @param countLimit - the count to stop at for each puzzle (0 for no limit), or BatchSolver.SOLVE
+	 */
+	public ParallelBatchSolver(SolveMode mode, int threads, long countLimit) throws IllegalArgumentException
+	{
+		if (threads < 1)
+			throw new IllegalArgumentException("Invalid thread count passed into ParallelBatchSolver(SolveMode, int, long)");
+
+		this.mode = mode;
+		this.threads = threads;
+		this.countLimit = countLimit;
+		this.workers = new ArrayList<BatchSolver>();
+		this.tables = new ArrayList<TranspositionTable>();
+		this.stats = new BatchStats();
+	}
+
+	/**
+	 * Solves every puzzle line from the reader and writes one result line per puzzle, in input order.
+	 *
+	 * @param in - where the puzzle lines come from
+	 * @param out - where the result lines go
+	 */
+	public void solveAll(BufferedReader in, Writer out) throws IOException, InterruptedException
+	{
+		run(() ->
+		{
+			List<String> chunk = new ArrayList<String>(CHUNK_SIZE);
+			String line;
+			while (chunk.size() < CHUNK_SIZE && (line = in.readLine()) != null)
+				if (!BatchSolver.isSkipped(line))
+					chunk.add(line.trim());
+			if (chunk.isEmpty())
+				return null;
+			return (solver, results) ->
+			{
+				for (String puzzle : chunk)
+					solver.solveLine(puzzle, results);
+			};
+		}, out);
+	}
+
+	/**
+	 * Solves every puzzle of a packed file and writes one result line per puzzle, in file order.
+	 *
+	 * @param in - the packed file
+	 * @param out - where the result lines go
+	 */
+	public void solveAll(PackedReader in, Writer out) throws IOException, InterruptedException
+	{
+		long[] next = new long[1];
+		run(() ->
+		{
+			long first = next[0];
+			long last = Math.min(first + CHUNK_SIZE, in.size());
+			if (first == last)
+				return null;
+			next[0] = last;
+			return (solver, results) ->
+			{
+				for (long index = first; index < last; index++)
+					solver.solveRecord(in, index, results);
+			};
+		}, out);
+	}
+
+	/**
+	 * Runs the pipeline over the chunks of some input.
+	 *
+	 * @param chunks - gives the chunks, in input order
+	 * @param out - where the result lines go
+	 */
+	private void run(ChunkSource chunks, Writer out) throws IOException, InterruptedException
+	{
+		// every run has workers, tables and stats of its own, so a reused solver does not count a run twice
+		workers = new ArrayList<BatchSolver>();
+		tables = new ArrayList<TranspositionTable>();
+		stats = new BatchStats();
+		failure = null;
+
+		// each worker thread gets its own BatchSolver the first time it runs a chunk
+		List<BatchSolver> workers = this.workers;
+		List<TranspositionTable> tables = this.tables;
+		ThreadLocal<BatchSolver> solvers = ThreadLocal.withInitial(() ->
+		{
+			BatchSolver solver = new BatchSolver(mode, countLimit);
+			solver.setCache(cache);
+			solver.setTimeout(timeout);
+			// a table is not safe to share, so each worker remembers its own dead ends
+			TranspositionTable table = tableBytes == 0 ? null : new TranspositionTable(tableBytes, eviction);
+			solver.setTranspositionTable(table);
+			synchronized (workers)
+			{
+				workers.add(solver);
+				if (table != null)
+					tables.add(table);
+			}
+			return solver;
+		});
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		BlockingQueue<CompletableFuture<StringBuilder>> pending = new ArrayBlockingQueue<>(threads * 4);
+		Thread writer = new Thread(() -> writeInOrder(pending, out), "batch-writer");
+		writer.start();
+
+		try
+		{
+			// the reader stage: hand each chunk to the pool
+			BiConsumer<BatchSolver, StringBuilder> chunk;
+			while ((chunk = chunks.next()) != null)
+				pending.put(submit(chunk, solvers, pool));
+		}
+		finally
+		{
+			pending.put(END);
+			writer.join();
+			pool.shutdown();
+		}
+
+		if (failure instanceof IOException)
+			throw (IOException) failure;
+		if (failure instanceof InterruptedException)
+			throw (InterruptedException) failure;
+		if (failure != null)
+			throw new IllegalStateException("A batch worker failed", failure);
+
+		// the workers are all finished, so their stats can be read safely
+		for (BatchSolver solver : workers)
+			stats.merge(solver.getStats());
+	}
+
+	/**
+	 * Shares a cache between the workers of the next solveAll.
+	 *
+	 * @param cache - the cache, or null for none
+	 */
+	public void setCache(SolutionCache cache) throws IllegalArgumentException
+	{
+		if (cache != null && countLimit != BatchSolver.SOLVE)
+			throw new IllegalArgumentException("Invalid cache passed into ParallelBatchSolver.setCache(SolutionCache): "
+				+ "solutions are not cached while counting");
+		this.cache = cache;
+	}
+
+	/**
+	 * Gives up on every puzzle of the next solveAll that takes too long to solve.
+	 *
+	 * @param timeout - the milliseconds each puzzle may take, 0 for no limit
+	 */
+	public void setTimeout(long timeout) throws IllegalArgumentException
+	{
+		if (timeout < 0)
+			throw new IllegalArgumentException("Invalid timeout passed into ParallelBatchSolver.setTimeout(long)");
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Gives every worker of the next solveAll a TranspositionTable of its own.
+	 *
+	 * @param bytes - the memory of each worker's table, or 0 for none
+	 * @param eviction - which entry makes room when a bucket is full
+	 */
+	public void setTranspositionTables(long bytes, TranspositionTable.Eviction eviction) throws IllegalArgumentException
+	{
+		if (bytes < 0 || (bytes != 0 && (mode != SolveMode.PROPAGATING || countLimit != BatchSolver.SOLVE)))
+			throw new IllegalArgumentException("Invalid arguments passed into "
+				+ "ParallelBatchSolver.setTranspositionTables(long, Eviction)");
+		this.tableBytes = bytes;
+		this.eviction = eviction;
+	}
+
+	/**
+	 * Gets the table of every worker of the last solveAll. Only complete after solveAll returns.
+	 *
+	 * @return the tables
+	 */
+	public List<TranspositionTable> getTranspositionTables()
+	{
+		return tables;
+	}
+
+	/**
+	 * Gets the merged stats of every puzzle solved by the last solveAll. Only complete after solveAll returns.
+	 *
+	 * @return the stats
+	 */
+	public BatchStats getStats()
+	{
+		return stats;
+	}
+
+	/**
+	 * Hands a chunk of puzzles to the pool.
+	 *
+	 * @param chunk - solves the chunk's puzzles with a BatchSolver, appending their result lines
+	 * @param solvers - the per-thread BatchSolvers
+	 * @param pool - the worker pool
+	 * @return the chunk's result lines, once they are ready
+	 */
+	private static CompletableFuture<StringBuilder> submit(BiConsumer<BatchSolver, StringBuilder> chunk,
+		ThreadLocal<BatchSolver> solvers, ExecutorService pool)
+	{
+		return CompletableFuture.supplyAsync(() ->
+		{
+			StringBuilder results = new StringBuilder(CHUNK_SIZE * (PuzzleFormat.LINE_LENGTH + 1));
+			chunk.accept(solvers.get(), results);
+			return results;
+		}, pool);
+	}
+
+	/**
+	 * The writer stage: writes each chunk's results in the order the chunks were read.
+	 *
+	 * After a failure it keeps taking chunks without writing them, so the reader is never left blocked
+	 * on a full queue; the failure is rethrown by solveAll.
+	 *
+	 * @param pending - the chunks, in input order, followed by END
+	 * @param out - where the result lines go
+	 */
+	private void writeInOrder(BlockingQueue<CompletableFuture<StringBuilder>> pending, Writer out)
+	{
+		try
+		{
+			CompletableFuture<StringBuilder> next;
+			while ((next = pending.take()) != END)
+			{
+				if (failure != null)
+					continue;
+
+				try
+				{
+					out.append(next.get());
+				}
+				catch (ExecutionException ee)
+				{
+					failure = ee.getCause();
+				}
+				catch (IOException ioe)
+				{
+					failure = ioe;
+				}
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			failure = ie;
+		}
+	}
+
+	/**
+	 * The reader stage's input: cuts it into chunks, one at a time.
+	 */
+	private interface ChunkSource
+	{
+		/**
+		 * Reads the next chunk.
+		 *
+		 * @return the work of solving the chunk, or null when the input is used up
+		 */
+		BiConsumer<BatchSolver, StringBuilder> next() throws IOException;
+	}
+}
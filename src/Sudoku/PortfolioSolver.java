@@ -0,0 +1,244 @@
+package Sudoku;
+
+// For running the strategies side by side
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PortfolioSolver - races several search strategies on the same puzzle and takes the first answer.
+ *
+ * No single search order is fastest on every puzzle: one that flies through most of them can take thousands
+ * of times longer on another that a different order finds easy. A portfolio runs each strategy on its own
+ * copy of the board, on its own thread, and the first to finish (with a solution, or with proof there is
+ * none) cancels a shared SolveControl that stops the others at their next guess. The race control is a
+ * branch of the caller's, so a deadline or cancellation stops every strategy as well.
+ *
+ * The standard portfolio holds the propagating search, dancing links, the plain row-major search, and two
+ * propagating searches that break ties and order their guesses at random with different seeds. Which
+ * strategy won each race is counted here and in SolverStatistics (as PortfolioWins through JMX), so the
+ * defaults can be tuned from what wins in practice.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class PortfolioSolver implements SudokuSolver
+{
+	/* RACERS runs every strategy but the first, which runs on the calling thread
+	 */
+	private static final ExecutorService RACERS = Executors.newCachedThreadPool(task ->
+	{
+		Thread thread = new Thread(task, "portfolio-strategy");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/* names and strategies are the strategies raced, in order
+	 * wins counts the races each strategy has won, and winner is the name of the last one's winner (or null)
+	 * stepsTaken is the steps of the winner of the last race
+	 * metrics adds up what every strategy did during the last race
+	 * statistics counts the wins of every portfolio in this JVM, for JMX
+	 */
+	private String[] names;
+	private SudokuSolver[] strategies;
+	private long[] wins;
+	private String winner;
+	private int stepsTaken;
+	private SolveMetrics metrics;
+	private SolverStatistics statistics;
+
+	/**
+	 * PortfolioSolver constructor with the standard portfolio
+	 */
+	public PortfolioSolver()
+	{
+		this(standardStrategies());
+	}
+
+	/**
+	 * PortfolioSolver constructor
+	 *
+	 * @param strategies - the solvers to race, by name, in order; each is used by this portfolio only
+	 */
+	public PortfolioSolver(Map<String, SudokuSolver> strategies) throws IllegalArgumentException
+	{
+		if (strategies.isEmpty())
+			throw new IllegalArgumentException("Invalid strategies passed into PortfolioSolver(Map)");
+
+		this.names = strategies.keySet().toArray(new String[0]);
+		this.strategies = strategies.values().toArray(new SudokuSolver[0]);
+		this.wins = new long[names.length];
+		this.metrics = new SolveMetrics();
+		this.statistics = SolverStatistics.getInstance();
+	}
+
+	/**
+	 * Makes the solvers of the standard portfolio.
+	 *
+	 * @return the solvers, by name
+	 */
+	private static Map<String, SudokuSolver> standardStrategies()
+	{
+		Map<String, SudokuSolver> strategies = new LinkedHashMap<String, SudokuSolver>();
+		strategies.put("propagating", new PropagatingSolver(false));
+		strategies.put("dancing-links", new DancingLinksSolver());
+		strategies.put("row-major", new BacktrackingSolver(false));
+		for (int seed = 1; seed <= 2; seed++)
+		{
+			PropagatingSolver random = new PropagatingSolver(false);
+			random.setSeed(seed);
+			strategies.put("random-" + seed, random);
+		}
+		return strategies;
+	}
+
+	@Override
+	public boolean solve(Matrix board)
+	{
+		return solve(board, null) == SolveOutcome.SOLVED;
+	}
+
+	@Override
+	public SolveOutcome solve(Matrix board, SolveControl control)
+	{
+		SolveControl race = new SolveControl(control);
+		AtomicInteger first = new AtomicInteger(-1);
+		Matrix[] boards = new Matrix[strategies.length];
+		SolveOutcome[] outcomes = new SolveOutcome[strategies.length];
+		Future<?>[] racers = new Future<?>[strategies.length];
+		metrics.start();
+
+		for (int i = 0; i < strategies.length; i++)
+			boards[i] = new Matrix(board);
+		for (int i = 1; i < strategies.length; i++)
+		{
+			int strategy = i;
+			racers[i] = RACERS.submit(() -> race(strategy, boards[strategy], race, first, outcomes));
+		}
+
+		RuntimeException failure = null;
+		try
+		{
+			race(0, boards[0], race, first, outcomes);
+		}
+		catch (RuntimeException re)
+		{
+			race.cancel();
+			failure = re;
+		}
+
+		// every strategy has to be done with its solver before the next race can use it
+		boolean interrupted = false;
+		for (int i = 1; i < strategies.length; i++)
+		{
+			while (true)
+			{
+				try
+				{
+					racers[i].get();
+					break;
+				}
+				catch (InterruptedException ie)
+				{
+					race.cancel();
+					interrupted = true;
+				}
+				catch (ExecutionException ee)
+				{
+					race.cancel();
+					if (failure == null)
+						failure = ee.getCause() instanceof RuntimeException ? (RuntimeException) ee.getCause()
+							: new IllegalStateException(ee.getCause());
+					break;
+				}
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		for (SudokuSolver strategy : strategies)
+			metrics.merge(strategy.getMetrics(), 0);
+		metrics.finish();
+		if (failure != null)
+			throw failure;
+
+		int won = first.get();
+		if (won == -1)
+		{
+			// every strategy was stopped by the caller before any of them finished
+			winner = null;
+			stepsTaken = 0;
+			return SolveOutcome.of(false, control);
+		}
+
+		winner = names[won];
+		wins[won]++;
+		statistics.recordWin(winner);
+		stepsTaken = strategies[won].getStepsTaken();
+		if (outcomes[won] == SolveOutcome.SOLVED)
+		{
+			// copying the winning board back into the one we were given
+			for (int row = 0; row < board.getDimension(); row++)
+				for (int col = 0; col < board.getDimension(); col++)
+					board.setAt(row, col, boards[won].getAt(row, col));
+		}
+		return outcomes[won];
+	}
+
+	/**
+	 * Runs one strategy of a race, and stops the others if it is the first to finish.
+	 *
+	 * @param strategy - the index of the strategy
+	 * @param board - the strategy's own copy of the board
+	 * @param race - the control every strategy of the race checks
+	 * @param first - the index of the first strategy to finish, or -1
+	 * @param outcomes - where the outcome of each strategy goes
+	 */
+	private void race(int strategy, Matrix board, SolveControl race, AtomicInteger first, SolveOutcome[] outcomes)
+	{
+		SolveOutcome outcome = strategies[strategy].solve(board, race);
+		outcomes[strategy] = outcome;
+		// a proof that there is no solution settles the race as well as a solution does
+		if ((outcome == SolveOutcome.SOLVED || outcome == SolveOutcome.NO_SOLUTION) && first.compareAndSet(-1, strategy))
+			race.cancel();
+	}
+
+	/**
+	 * Gets the name of the strategy that won the last race.
+	 *
+	 * @return the name, or null if the last solve was stopped before any strategy finished
+	 */
+	public String getWinner()
+	{
+		return winner;
+	}
+
+	/**
+	 * Gets how many races each strategy of this portfolio has won.
+	 *
+	 * @return the wins, by strategy name, in the order of the strategies
+	 */
+	public Map<String, Long> getWins()
+	{
+		Map<String, Long> totals = new LinkedHashMap<String, Long>();
+		for (int i = 0; i < names.length; i++)
+			totals.put(names[i], wins[i]);
+		return totals;
+	}
+
+	@Override
+	public int getStepsTaken()
+	{
+		return stepsTaken;
+	}
+
+	@Override
+	public SolveMetrics getMetrics()
+	{
+		return metrics;
+	}
+}
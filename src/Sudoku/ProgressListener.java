@@ -0,0 +1,18 @@
+package Sudoku;
+
+/**
+ * ProgressListener interface - hears from a search every so often while it runs (see SolveControl).
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public interface ProgressListener
+{
+	/**
+	 * Called on the searching thread (for a fork-join search, one of its workers) once the interval has
+	 * passed since the last call. The listener can stop the search with control.cancel().
+	 *
+	 * @param control - the control of the search, with its nodes visited and elapsed time so far
+	 */
+	void progress(SolveControl control);
+}
@@ -0,0 +1,765 @@
+package Sudoku;
+
+// For checkpoints and splitting a count into parts
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PropagatingSolver - solves a Matrix with constraint propagation and minimum-remaining-values guessing.
+ *
+ * After every number placed, it keeps filling squares that are forced: squares with only one allowed
+ * number left (naked singles) and numbers with only one allowed square left in a row, column, or box
+ * (hidden singles). When nothing more is forced, it guesses on the empty square with the fewest allowed
+ * numbers. Every placement, forced or guessed, is remembered on a trail so a failed guess can be undone.
+ *
+ * Given a seed, the search breaks ties between squares with equally few options and orders the numbers it
+ * tries at random (the same way every time for the same seed), so differently seeded solvers explore the
+ * same puzzle in different orders; see PortfolioSolver.
+ *
+ * Given a TranspositionTable, the search remembers every board state it has proved to be a dead end (every
+ * state after propagation whose guesses all failed), and gives up at once on a state it reaches again by a
+ * different path. The table is only used when solving, not counting.
+ *
+ * A long count can write a SearchCheckpoint to a file every so often, and when it stops, so that resume can
+ * carry it on later from exactly that point; split cuts a count into parts, one per subtree under a fixed
+ * number of guesses, that can be counted separately (on different machines) and added up.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class PropagatingSolver implements SudokuSolver, SolutionCounter, SearchRecorder
+{
+	/* EMPTY represents the value used for "empty" cells
+	 * SOLVED and DEAD_END are what propagateAndPick returns instead of a square
+	 */
+	private static final int EMPTY = -1;
+	static final int SOLVED = -1;
+	static final int DEAD_END = -2;
+
+	/* CHECKPOINT_SAMPLE is how many backtracks go by between looks at the clock for a checkpoint (a power of two)
+	 */
+	private static final int CHECKPOINT_SAMPLE = 1024;
+
+	/* board is the Matrix currently being solved
+	 * dimension is its number of rows, and cells its number of squares
+	 * units holds the flat indeces of the squares in every row, column, and box (27 units of 9 for 9x9)
+	 * trace shows the board after guesses as the search works, or is null for none
+	 * log records every number placed and taken back, or is null for none
+	 * stepsTaken counts every number placed, forced or guessed
+	 * metrics describes the last solve
+	 * trail holds the flat index of every square filled so far, in order, and trailSize how many there are
+	 * levelCell, levelOptions and levelMark hold, for each guess on the stack, the square guessed on,
+	 *     the numbers not yet tried there, and the trail size from before the guess
+	 *     (the arrays are rebuilt whenever a board of a different size comes along)
+	 * control is checked at every guess of the current solve, or is null
+	 * table remembers the states proved to be dead ends, or is null for none
+	 * levelHash and levelNodes hold, for each guess on the stack, the hash of the board before the guess
+	 *     and the nodes visited before it, so the state can be stored with the work it took once it has failed
+	 * seeded says whether a seed was given, seed is that seed, and random is the state of the random numbers
+	 *     drawn during the current solve (an xorshift generator, started from the seed on every solve)
+	 * checkpointFile is where counts write checkpoints, or null for nowhere, every checkpointInterval
+	 *     nanoseconds; checkpointing says whether the current search writes them, nextCheckpoint is when the
+	 *     next is due, checkpointPolls counts the backtracks since the clock was last looked at, and
+	 *     checkpointFailure is the first writing error, or null
+	 * origin holds the numbers of the board the current search started from (0 for empty), for checkpoints,
+	 *     and nodesBefore the guesses made before it was resumed
+	 * parts collects the parts while a count is being split, or is null, and splitDepth is the number of
+	 *     guesses above each part
+	 * inPart says whether the current search is a resumed part, so its checkpoints are marked as parts too
+	 */
+	private Matrix board;
+	private int dimension;
+	private int cells;
+	private int[][] units;
+	private BoardTrace trace;
+	private SearchLog log;
+	private int stepsTaken;
+	private SolveMetrics metrics;
+	private int[] trail;
+	private int trailSize;
+	private int[] levelCell;
+	private int[] levelOptions;
+	private int[] levelMark;
+	private SolveControl control;
+	private TranspositionTable table;
+	private long[] levelHash;
+	private long[] levelNodes;
+	private boolean seeded;
+	private long seed;
+	private long random;
+	private Path checkpointFile;
+	private long checkpointInterval;
+	private boolean checkpointing;
+	private long nextCheckpoint;
+	private int checkpointPolls;
+	private IOException checkpointFailure;
+	private byte[] origin;
+	private long nodesBefore;
+	private List<SearchCheckpoint> parts;
+	private int splitDepth;
+	private boolean inPart;
+
+	/**
+	 * PropagatingSolver constructor
+	 *
+	 * @param verbose - whether to show the board on the console as the search works
+	 */
+	public PropagatingSolver(boolean verbose)
+	{
+		this(verbose ? BoardTrace.console() : null);
+	}
+
+	/**
+	 * PropagatingSolver constructor with a trace of its own
+	 *
+	 * @param trace - where to show the board after guesses, or null for nowhere
+	 */
+	public PropagatingSolver(BoardTrace trace)
+	{
+		this.trace = trace;
+		this.metrics = new SolveMetrics();
+	}
+
+	/**
+	 * Makes the search break ties and order its guesses at random, starting from the same seed on every solve.
+	 *
+	 * @param seed - the seed
+	 */
+	public void setSeed(long seed)
+	{
+		this.seeded = true;
+		this.seed = seed;
+	}
+
+	/**
+	 * Has every following solve remember its dead ends in a table, and prune the states found there.
+	 *
+	 * @param table - the table, which may be kept across puzzles, or null for none
+	 */
+	public void setTranspositionTable(TranspositionTable table)
+	{
+		this.table = table;
+	}
+
+	/**
+	 * Gets the table dead ends are remembered in.
+	 *
+	 * @return the table, or null
+	 */
+	public TranspositionTable getTranspositionTable()
+	{
+		return table;
+	}
+
+	/**
+	 * Has every following count (and resume) write a checkpoint to a file every so often, and once more when
+	 * it stops, whether it finished, reached its limit, or was stopped by its SolveControl. Writing errors do
+	 * not stop the count: the first one is remembered, and no more checkpoints are written.
+	 *
+	 * @param file - the checkpoint file, replaced by every checkpoint, or null for none
+	 * @param interval - the milliseconds between checkpoints, at least 1
+	 */
+	public void setCheckpointFile(Path file, long interval) throws IllegalArgumentException
+	{
+		if (file != null && interval < 1)
+			throw new IllegalArgumentException("Invalid interval passed into PropagatingSolver.setCheckpointFile(Path, long)");
+
+		this.checkpointFile = file;
+		this.checkpointInterval = interval * 1000000;
+		this.checkpointFailure = null;
+	}
+
+	/**
+	 * Gets the first error met writing a checkpoint.
+	 *
+	 * @return the error, or null if every checkpoint was written
+	 */
+	public IOException getCheckpointFailure()
+	{
+		return checkpointFailure;
+	}
+
+	@Override
+	public boolean solve(Matrix board)
+	{
+		return solve(board, null) == SolveOutcome.SOLVED;
+	}
+
+	@Override
+	public SolveOutcome solve(Matrix board, SolveControl control)
+	{
+		metrics.start();
+		if (log != null)
+			log.start(board);
+		this.control = control;
+		boolean succeeded = search(board, 1) == 1;
+		this.control = null;
+		metrics.finish();
+		if (log != null)
+			log.finish(succeeded);
+		if (trace != null)
+			trace.flush(stepsTaken);
+		return SolveOutcome.of(succeeded, control);
+	}
+
+	@Override
+	public long countSolutions(Matrix board, long limit)
+	{
+		return countSolutions(board, limit, null);
+	}
+
+	@Override
+	public long countSolutions(Matrix board, long limit, SolveControl control)
+	{
+		metrics.start();
+		if (log != null)
+			log.start(board);
+		this.control = control;
+		this.checkpointing = checkpointFile != null && parts == null;
+		long count = search(board, limit == 0 ? Long.MAX_VALUE : limit);
+		return finishCount(count);
+	}
+
+	/**
+	 * Carries on a count from a checkpoint, exactly where it left off, or counts one part of a split count.
+	 *
+	 * @param checkpoint - the checkpoint
+	 * @param control - checked at every guess, or null
+	 * @return the number of solutions found, counting those found before the checkpoint
+	 */
+	public long resume(SearchCheckpoint checkpoint, SolveControl control) throws IllegalArgumentException
+	{
+		if (checkpoint.isFinished())
+			return checkpoint.getCount();
+
+		Matrix board = checkpoint.getPuzzle();
+		metrics.start();
+		if (log != null)
+			log.start(board);
+		this.control = control;
+		this.checkpointing = checkpointFile != null;
+		prepare(board);
+		this.stepsTaken = 0;
+		this.trailSize = 0;
+		this.random = checkpoint.getRandom();
+		this.origin = checkpoint.puzzle();
+		this.nodesBefore = checkpoint.getNodesVisited();
+		this.nextCheckpoint = System.nanoTime() + checkpointInterval;
+		this.inPart = checkpoint.isPart();
+
+		// every guess on the stack is made again; propagating after each one forces the same numbers it did
+		int depth = checkpoint.getDepth();
+		boolean consistent = propagate();
+		for (int level = 0; level < depth; level++)
+		{
+			int cell = checkpoint.getCell(level);
+			int digit = checkpoint.getDigit(level);
+			if (!consistent || cell < 0 || cell >= cells || board.getAt(cell / dimension, cell % dimension) != EMPTY
+				|| (digit == 0 ? level != depth - 1 || checkpoint.isFresh()
+					: digit > dimension || !board.isCandidate(cell / dimension, cell % dimension, digit)))
+			{
+				undoTo(0);
+				this.control = null;
+				metrics.finish();
+				throw new IllegalArgumentException("Invalid checkpoint passed into PropagatingSolver.resume(SearchCheckpoint, SolveControl)");
+			}
+
+			levelCell[level] = cell;
+			levelOptions[level] = checkpoint.getOptions(level) & board.getAllDigits();
+			levelMark[level] = trailSize;
+			levelHash[level] = board.getHash();
+			levelNodes[level] = metrics.getNodesVisited();
+			if (digit != 0)
+			{
+				place(cell, digit);
+				consistent = propagate();
+			}
+		}
+
+		// a fresh part starts by searching under its guesses, anything else by taking back the last one; the
+		// guesses above a part (started or not) have options the part does not search, so they are not dead
+		// ends when it is done
+		boolean pushed = depth > 0 && checkpoint.getDigit(depth - 1) == 0;
+		long count = run(checkpoint.getLimit(), checkpoint.getCount(), depth, checkpoint.isFresh() && consistent, pushed,
+			checkpoint.getLimit() == 1 && !checkpoint.isPart() ? table : null);
+		return finishCount(count);
+	}
+
+	/**
+	 * Cuts a count into parts, one for every way of making the first guesses the search would make (or for
+	 * every solution found before that many guesses), to be counted by resume, each on its own. No solutions
+	 * are counted here, and the parts' counts add up to what countSolutions would give without a limit.
+	 *
+	 * @param board - the Matrix whose solutions are to be counted, left with only the values it started with
+	 * @param limit - the count each part stops at, or 0 for none
+	 * @param depth - the number of guesses above each part, at least 1
+	 * @return the parts, in the order the search would reach them
+	 */
+	public List<SearchCheckpoint> split(Matrix board, long limit, int depth) throws IllegalArgumentException
+	{
+		if (depth < 1)
+			throw new IllegalArgumentException("Invalid depth passed into PropagatingSolver.split(Matrix, long, int)");
+
+		List<SearchCheckpoint> split = new ArrayList<SearchCheckpoint>();
+		this.parts = split;
+		this.splitDepth = depth;
+		try
+		{
+			countSolutions(board, limit);
+		}
+		finally
+		{
+			this.parts = null;
+			this.splitDepth = 0;
+		}
+		return split;
+	}
+
+	/**
+	 * Tidies up after a count, leaving the board with only the values it started with.
+	 *
+	 * @param count - the number of solutions found
+	 * @return the count
+	 */
+	private long finishCount(long count)
+	{
+		undoTo(0);
+		this.control = null;
+		this.checkpointing = false;
+		metrics.finish();
+		if (log != null)
+			log.finish(count > 0);
+		if (trace != null)
+			trace.flush(stepsTaken);
+		return count;
+	}
+
+	/**
+	 * The search itself: finds solutions one after another until there are none left or enough were found.
+	 * Each solution found is simply treated as a dead end, so the search goes on from the same stack
+	 * without copying the board.
+	 *
+	 * @param board - the Matrix to solve in place
+	 * @param limit - the number of solutions to stop at, at least 1
+	 * @return the number of solutions found; if that is the limit, the board holds the last one, otherwise
+	 *     the board is left with only its original values
+	 */
+	private long search(Matrix board, long limit)
+	{
+		prepare(board);
+		this.stepsTaken = 0;
+		this.trailSize = 0;
+		// xorshift needs a state that is not zero
+		this.random = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+		if (checkpointing || parts != null)
+		{
+			origin = new byte[cells];
+			for (int cell = 0; cell < cells; cell++)
+				origin[cell] = (byte) Math.max(board.getAt(cell / dimension, cell % dimension), 0);
+			nodesBefore = 0;
+			nextCheckpoint = System.nanoTime() + checkpointInterval;
+		}
+
+		// fill whatever the given information already forces; a subtree that holds solutions is not a dead end,
+		// so the table only works when the first one ends the search, and a split backtracks over the parts
+		// without searching them, so nothing it runs out of is a dead end either
+		this.inPart = false;
+		return run(limit, 0, 0, propagate(), false, limit == 1 && parts == null ? table : null);
+	}
+
+	/**
+	 * Runs the search from a given point: from a new state if it is consistent, or else from taking back
+	 * the last guess on the stack.
+	 *
+	 * @param limit - the number of solutions to stop at, at least 1
+	 * @param count - the solutions found so far
+	 * @param depth - the number of guesses on the stack
+	 * @param consistent - whether the board is a new state to search under
+	 * @param pushed - whether the last level on the stack has just been pushed, with no guess made there yet
+	 * @param table - the table of dead ends to use, or null
+	 * @return the number of solutions found, counting those found before; if that is the limit, the board
+	 *     holds the last one
+	 */
+	private long run(long limit, long count, int depth, boolean consistent, boolean pushed, TranspositionTable table)
+	{
+		while (true)
+		{
+			// a state already proved dead is given up on before anything is guessed on it
+			if (consistent && table != null && table.contains(board.getHash()))
+			{
+				metrics.prune();
+				consistent = false;
+			}
+
+			if (consistent)
+			{
+				int cell = pickCell();
+				if (parts != null && (depth == splitDepth || cell == -1))
+				{
+					// the subtree under these guesses is a part of its own, searched when the part is resumed
+					parts.add(checkpoint(depth, true, limit, 0));
+				}
+				else if (cell == -1)
+				{
+					// no empty square is left, so the board is solved
+					count++;
+					if (count >= limit)
+					{
+						if (checkpointing)
+							writeCheckpoint(depth, limit, count);
+						return count;
+					}
+				}
+				else
+				{
+					// push a new guess on the square with the fewest options
+					levelCell[depth] = cell;
+					levelOptions[depth] = board.getCandidates(cell / dimension, cell % dimension);
+					levelMark[depth] = trailSize;
+					if (table != null)
+					{
+						levelHash[depth] = board.getHash();
+						levelNodes[depth] = metrics.getNodesVisited();
+					}
+					depth++;
+					pushed = true;
+				}
+			}
+
+			// find the deepest guess that still has a number left to try, undoing everything after it
+			consistent = false;
+			while (!consistent)
+			{
+				if (depth == 0 || (control != null && control.shouldStop()))
+				{
+					if (checkpointing)
+						writeCheckpoint(depth, limit, count);
+					undoTo(0);
+					return count;
+				}
+				if (checkpointing && (++checkpointPolls & (CHECKPOINT_SAMPLE - 1)) == 0
+					&& System.nanoTime() - nextCheckpoint >= 0)
+				{
+					writeCheckpoint(depth, limit, count);
+					nextCheckpoint = System.nanoTime() + checkpointInterval;
+				}
+
+				// every pass but the first after a push takes back a guess
+				if (!pushed)
+					metrics.backtrack();
+				pushed = false;
+
+				int level = depth - 1;
+				undoTo(levelMark[level]);
+				if (levelOptions[level] == 0)
+				{
+					// every guess here failed, so the state before them is a dead end
+					if (table != null)
+						table.add(levelHash[level], metrics.getNodesVisited() - levelNodes[level]);
+					depth--;
+					continue;
+				}
+
+				int bit = seeded ? randomBit(levelOptions[level]) : Integer.lowestOneBit(levelOptions[level]);
+				levelOptions[level] &= ~bit;
+				place(levelCell[level], Integer.numberOfTrailingZeros(bit) + 1);
+				metrics.node(depth);
+				if (trace != null)
+					trace.step(board, stepsTaken);
+				consistent = propagate();
+			}
+		}
+	}
+
+	/**
+	 * Captures the state of the search, as it stands at the top of the backtracking loop or, for a part, as
+	 * it stands before searching under the guesses on the stack.
+	 *
+	 * @param depth - the number of guesses on the stack
+	 * @param fresh - whether it is a part, whose guesses are not to be taken back
+	 * @param limit - the number of solutions to stop at
+	 * @param count - the solutions found so far
+	 * @return the checkpoint
+	 */
+	private SearchCheckpoint checkpoint(int depth, boolean fresh, long limit, long count)
+	{
+		int[] digits = new int[depth];
+		int[] options = new int[depth];
+		for (int level = 0; level < depth; level++)
+		{
+			// the last level may have been pushed with no guess made there yet
+			int val = board.getAt(levelCell[level] / dimension, levelCell[level] % dimension);
+			digits[level] = val == EMPTY ? 0 : val;
+			options[level] = fresh ? 0 : levelOptions[level];
+		}
+		return new SearchCheckpoint(board.getBoxSize(), origin, fresh, inPart, limit, count,
+			nodesBefore + metrics.getNodesVisited(), random, Arrays.copyOf(levelCell, depth), digits, options);
+	}
+
+	/**
+	 * Writes a checkpoint of the search to the checkpoint file, remembering the error if it cannot.
+	 *
+	 * @param depth - the number of guesses on the stack
+	 * @param limit - the number of solutions to stop at
+	 * @param count - the solutions found so far
+	 */
+	private void writeCheckpoint(int depth, long limit, long count)
+	{
+		try
+		{
+			checkpoint(depth, false, limit, count).write(checkpointFile);
+		}
+		catch (IOException ioe)
+		{
+			checkpointFailure = ioe;
+			checkpointing = false;
+		}
+	}
+
+	@Override
+	public int getStepsTaken()
+	{
+		return stepsTaken;
+	}
+
+	@Override
+	public void setSearchLog(SearchLog log)
+	{
+		this.log = log;
+	}
+
+	@Override
+	public SolveMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Fills every forced square of a board without guessing, and finds the square a search would guess on next.
+	 * The forced numbers stay on the board.
+	 *
+	 * @param board - the Matrix to work on
+	 * @return the flat index of the square with the fewest options, SOLVED if the board is full,
+	 *     or DEAD_END if the board cannot be solved
+	 */
+	int propagateAndPick(Matrix board)
+	{
+		prepare(board);
+		this.stepsTaken = 0;
+		this.trailSize = 0;
+		metrics.reset();
+		if (!propagate())
+			return DEAD_END;
+
+		int cell = pickCell();
+		return cell == -1 ? SOLVED : cell;
+	}
+
+	/**
+	 * Fills naked and hidden singles until nothing more is forced.
+	 *
+	 * @return boolean - false if some square or some number in a unit has no options left
+	 */
+	private boolean propagate()
+	{
+		boolean changed = true;
+		while (changed)
+		{
+			changed = false;
+
+			// naked singles: squares with exactly one allowed number
+			for (int cell = 0; cell < cells; cell++)
+			{
+				int row = cell / dimension;
+				int col = cell % dimension;
+				if (board.getAt(row, col) != EMPTY)
+					continue;
+
+				int options = board.getCandidates(row, col);
+				if (options == 0)
+					return false;
+				if (Integer.bitCount(options) == 1)
+				{
+					place(cell, Integer.numberOfTrailingZeros(options) + 1);
+					metrics.eliminate();
+					changed = true;
+				}
+			}
+
+			// hidden singles: numbers with exactly one allowed square in a unit
+			for (int[] unit : units)
+			{
+				// once - numbers allowed in at least one empty square, twice - in at least two
+				// placed - numbers already in the unit
+				int once = 0;
+				int twice = 0;
+				int placed = 0;
+				for (int cell : unit)
+				{
+					int val = board.getAt(cell / dimension, cell % dimension);
+					if (val != EMPTY)
+						placed |= 1 << (val - 1);
+					else
+					{
+						int options = board.getCandidates(cell / dimension, cell % dimension);
+						twice |= once & options;
+						once |= options;
+					}
+				}
+
+				// a number that is neither placed nor allowed anywhere means this path is dead
+				if ((once | placed) != board.getAllDigits())
+					return false;
+
+				int hidden = once & ~twice;
+				while (hidden != 0)
+				{
+					int bit = Integer.lowestOneBit(hidden);
+					hidden &= ~bit;
+					int val = Integer.numberOfTrailingZeros(bit) + 1;
+					for (int cell : unit)
+						if (board.getAt(cell / dimension, cell % dimension) == EMPTY &&
+							(board.getCandidates(cell / dimension, cell % dimension) & bit) != 0)
+						{
+							place(cell, val);
+							metrics.eliminate();
+							changed = true;
+							break;
+						}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the empty square with the fewest allowed numbers (minimum remaining values).
+	 *
+	 * @return the flat index of that square, or -1 if there are no empty squares
+	 */
+	private int pickCell()
+	{
+		int best = -1;
+		int bestCount = dimension + 1;
+		// a seeded search starts looking at a random square, so a different one wins a tie
+		int start = seeded ? randomInt(cells) : 0;
+		for (int i = 0; i < cells && bestCount > 2; i++)
+		{
+			int cell = start + i < cells ? start + i : start + i - cells;
+			if (board.getAt(cell / dimension, cell % dimension) != EMPTY)
+				continue;
+
+			int count = Integer.bitCount(board.getCandidates(cell / dimension, cell % dimension));
+			if (count < bestCount)
+			{
+				best = cell;
+				bestCount = count;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Picks one of the set bits of a mask at random.
+	 *
+	 * @param mask - the mask, not 0
+	 * @return the bit picked
+	 */
+	private int randomBit(int mask)
+	{
+		for (int skip = randomInt(Integer.bitCount(mask)); skip > 0; skip--)
+			mask &= mask - 1;
+		return Integer.lowestOneBit(mask);
+	}
+
+	/**
+	 * Draws the next random number of the current solve.
+	 *
+	 * @param bound - the number of possible results, at least 1
+	 * @return a number from 0 to bound - 1
+	 */
+	private int randomInt(int bound)
+	{
+		random ^= random << 13;
+		random ^= random >>> 7;
+		random ^= random << 17;
+		return (int) ((random >>> 33) % bound);
+	}
+
+	/**
+	 * Places a number and remembers it on the trail.
+	 *
+	 * @param cell - the flat index of the square
+	 * @param val - the number to place, 1 to dimension
+	 */
+	private void place(int cell, int val)
+	{
+		stepsTaken++;
+		board.setAt(cell / dimension, cell % dimension, val);
+		trail[trailSize++] = cell;
+		if (log != null)
+			log.assign(cell, val);
+	}
+
+	/**
+	 * Clears every square filled after the trail had the given size.
+	 *
+	 * @param mark - the trail size to go back to
+	 */
+	private void undoTo(int mark)
+	{
+		while (trailSize > mark)
+		{
+			int cell = trail[--trailSize];
+			board.setAt(cell / dimension, cell % dimension, EMPTY);
+			if (log != null)
+				log.undo(cell);
+		}
+	}
+
+	/**
+	 * Starts work on a board, rebuilding the units and the stack arrays if its size is new to this solver.
+	 *
+	 * @param board - the Matrix about to be worked on
+	 */
+	private void prepare(Matrix board)
+	{
+		this.board = board;
+		if (units != null && board.getDimension() == dimension)
+			return;
+
+		dimension = board.getDimension();
+		cells = dimension * dimension;
+		units = buildUnits(board.getBoxSize());
+		trail = new int[cells];
+		levelCell = new int[cells];
+		levelOptions = new int[cells];
+		levelMark = new int[cells];
+		levelHash = new long[cells];
+		levelNodes = new long[cells];
+	}
+
+	/**
+	 * Builds the table of units: the rows, then the columns, then the boxes.
+	 *
+	 * @param boxSize - the number of rows and columns in each box
+	 * @return the flat indeces of the squares in each unit
+	 */
+	static int[][] buildUnits(int boxSize)
+	{
+		int dimension = boxSize * boxSize;
+		int[][] units = new int[3 * dimension][dimension];
+		for (int i = 0; i < dimension; i++)
+			for (int j = 0; j < dimension; j++)
+			{
+				units[i][j] = i * dimension + j;
+				units[dimension + i][j] = j * dimension + i;
+				units[2 * dimension + i][j] = ((i / boxSize) * boxSize + j / boxSize) * dimension
+					+ (i % boxSize) * boxSize + j % boxSize;
+			}
+		return units;
+	}
+}
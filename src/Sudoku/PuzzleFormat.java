@@ -0,0 +1,120 @@
+package Sudoku;
+
+/**
+ * PuzzleFormat - reads and writes puzzles in the common one-line text format.
+ *
+ * A puzzle line has one character per square, row by row: 1-9 for a known number, A-P for the numbers
+ * 10-25 on bigger grids, and 0 or . for an empty square. A 9x9 puzzle is therefore 81 characters long,
+ * a 16x16 puzzle 256 and a 25x25 puzzle 625.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public final class PuzzleFormat
+{
+	/* EMPTY represents the value used for "empty" cells
+	 * LINE_LENGTH is the number of characters in a 9x9 puzzle line
+	 */
+	private static final int EMPTY = -1;
+	public static final int LINE_LENGTH = 81;
+
+	/**
+	 * No PuzzleFormat objects are needed; everything is static.
+	 */
+	private PuzzleFormat()
+	{
+	}
+
+	/**
+	 * Finds the box size of the puzzles whose lines have a given length.
+	 *
+	 * @param length - the number of characters in the line
+	 * @return the box size, or 0 if no supported grid has that many squares
+	 */
+	public static int boxSizeOf(int length)
+	{
+		for (int boxSize = 2; boxSize <= Matrix.MAX_BOX_SIZE; boxSize++)
+			if (boxSize * boxSize * boxSize * boxSize == length)
+				return boxSize;
+		return 0;
+	}
+
+	/**
+	 * Reads a puzzle line into a Matrix, replacing whatever it held. Every number becomes given information.
+	 *
+	 * @param line - the puzzle line
+	 * @param board - the Matrix to fill, of the size the line is for
+	 * @return boolean - false if the line is the wrong length, has an unknown character, or repeats a number
+	 *     in a row, column, or box (the board is then only partly filled)
+	 */
+	public static boolean parse(CharSequence line, Matrix board)
+	{
+		board.clear();
+		int dimension = board.getDimension();
+		if (line.length() != dimension * dimension)
+			return false;
+
+		for (int index = 0; index < line.length(); index++)
+		{
+			char c = line.charAt(index);
+			if (c == '0' || c == '.')
+				continue;
+
+			int val = valueOf(c);
+			if (val < 1 || val > dimension)
+				return false;
+
+			// a repeated number would make the puzzle unsolvable (and confuse the board's digit masks)
+			int row = index / dimension;
+			int col = index % dimension;
+			if (!board.isCandidate(row, col, val))
+				return false;
+			board.setGivenInformationAt(row, col, val);
+		}
+		return true;
+	}
+
+	/**
+	 * Writes a board as a puzzle line, using 0 for empty squares.
+	 *
+	 * @param board - the Matrix (or other Board) to write
+	 * @param out - where to append the line (no newline is added)
+	 */
+	public static void format(Board board, StringBuilder out)
+	{
+		int dimension = board.getDimension();
+		for (int row = 0; row < dimension; row++)
+			for (int col = 0; col < dimension; col++)
+				out.append(symbolOf(board.getAt(row, col)));
+	}
+
+	/**
+	 * Turns a character of a puzzle line into a number.
+	 *
+	 * @param c - the character, 1-9 or A-P (either case)
+	 * @return the number, or -1 if the character is not a number
+	 */
+	public static int valueOf(char c)
+	{
+		if (c >= '1' && c <= '9')
+			return c - '0';
+		if (c >= 'A' && c <= 'P')
+			return c - 'A' + 10;
+		if (c >= 'a' && c <= 'p')
+			return c - 'a' + 10;
+		return -1;
+	}
+
+	/**
+	 * Turns a number into its character in a puzzle line.
+	 *
+	 * @param val - the number, 1-25, or EMPTY
+	 * @return the character, with 0 for EMPTY
+	 */
+	public static char symbolOf(int val)
+	{
+		if (val == EMPTY)
+			return '0';
+		return val <= 9 ? (char) ('0' + val) : (char) ('A' + val - 10);
+	}
+}
@@ -0,0 +1,292 @@
+package Sudoku;
+
+// For writing puzzles and running the workers
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * PuzzleGenerator - makes new puzzles that are guaranteed to have exactly one solution.
+ *
+ * A puzzle starts as a random full grid: the three boxes on the main diagonal do not affect each other,
+ * so they are filled with shuffled numbers and the solver completes the rest. Clues are then taken away
+ * in a random order (in pairs, when a symmetry pattern asks for it), and each removal is kept only if the
+ * puzzle still has a unique solution. This stops at the target number of clues, or when no more clues can
+ * be taken away.
+ *
+ * Usage: java Sudoku.PuzzleGenerator [--count n] [--clues n] [--symmetry none|rotational|horizontal|vertical]
+ *     [--threads n] [--seed n] [file]
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class PuzzleGenerator
+{
+	/* DIMENSION represents the number of rows and columns
+	 * EMPTY represents the value used for "empty" cells
+	 * CHUNK_SIZE is the number of puzzles a worker builds up before writing them out
+	 */
+	private static final int DIMENSION = 9;
+	private static final int EMPTY = -1;
+	private static final int CHUNK_SIZE = 64;
+
+	/* random decides the full grid and the order clues are taken away in
+	 * symmetry is the pattern the clues follow
+	 * targetClues is the number of clues to stop at
+	 * solver fills full grids and checks that puzzles stay unique
+	 * order holds the squares in the order they are tried for removal
+	 * digits holds the numbers 1-9, shuffled for each diagonal box
+	 */
+	private Random random;
+	private Symmetry symmetry;
+	private int targetClues;
+	private PropagatingSolver solver;
+	private int[] order;
+	private int[] digits;
+
+	/**
+	 * PuzzleGenerator constructor
+	 *
+	 * @param random - the source of randomness
+	 * @param targetClues - the number of clues to stop at, 17-81
+	 * @param symmetry - the pattern the clues follow
+	 */
+	public PuzzleGenerator(Random random, int targetClues, Symmetry symmetry) throws IllegalArgumentException
+	{
+		if (targetClues < 17 || targetClues > DIMENSION * DIMENSION)
+			throw new IllegalArgumentException("Invalid clue count passed into PuzzleGenerator(Random, int, Symmetry)");
+
+		this.random = random;
+		this.targetClues = targetClues;
+		this.symmetry = symmetry;
+		this.solver = new PropagatingSolver(false);
+		this.order = new int[DIMENSION * DIMENSION];
+		for (int i = 0; i < order.length; i++)
+			order[i] = i;
+		this.digits = new int[DIMENSION];
+		for (int i = 0; i < digits.length; i++)
+			digits[i] = i + 1;
+	}
+
+	/**
+	 * The main method - for generating a file of puzzles.
+	 *
+	 * @param args - command line arguments: optional --count (default 1), --clues (default 17, meaning as few
+	 *     as possible), --symmetry (default none), --threads (default 1, 0 for every core) and --seed,
+	 *     and an optional file name (- or none for System.out)
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException, ExecutionException
+	{
+		int count = 1;
+		int clues = 17;
+		Symmetry symmetry = Symmetry.NONE;
+		int threads = 1;
+		long seed = System.nanoTime();
+		String fileName = "-";
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				if (args[i].equals("--count") && i + 1 < args.length)
+					count = Integer.parseInt(args[++i]);
+				else if (args[i].equals("--clues") && i + 1 < args.length)
+					clues = Integer.parseInt(args[++i]);
+				else if (args[i].equals("--symmetry") && i + 1 < args.length)
+					symmetry = Symmetry.valueOf(args[++i].toUpperCase());
+				else if (args[i].equals("--threads") && i + 1 < args.length)
+					threads = Integer.parseInt(args[++i]);
+				else if (args[i].equals("--seed") && i + 1 < args.length)
+					seed = Long.parseLong(args[++i]);
+				else
+					fileName = args[i];
+			}
+			if (count < 0 || threads < 0 || clues < 17 || clues > DIMENSION * DIMENSION)
+				throw new IllegalArgumentException("count and threads cannot be negative, and clues must be 17-81");
+		}
+		catch (IllegalArgumentException iae)
+		{
+			// NumberFormatException is an IllegalArgumentException too
+			System.err.println("Invalid arguments: " + iae.getMessage());
+			return;
+		}
+		if (threads == 0)
+			threads = Runtime.getRuntime().availableProcessors();
+
+		Writer out = fileName.equals("-") ? new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16)
+			: new BufferedWriter(new FileWriter(fileName), 1 << 16);
+		long start = System.nanoTime();
+		generateAll(out, count, clues, symmetry, threads, seed);
+		out.flush();
+		long elapsed = System.nanoTime() - start;
+		if (!fileName.equals("-"))
+			out.close();
+
+		System.err.printf("puzzles: %d in %.1f ms, %.1f puzzles/s%n", count, elapsed / 1e6,
+			elapsed == 0 ? 0.0 : count * 1e9 / elapsed);
+	}
+
+	/**
+	 * Generates puzzles on several threads and writes them one per line. Each worker has its own generator,
+	 * seeded from the seed and its worker number, and writes its puzzles out in chunks.
+	 *
+	 * @param out - where the puzzle lines go
+	 * @param count - the number of puzzles
+	 * @param clues - the number of clues to stop at
+	 * @param symmetry - the pattern the clues follow
+	 * @param threads - the number of worker threads, at least 1
+	 * @param seed - the seed the workers' seeds are made from
+	 */
+	public static void generateAll(Writer out, int count, int clues, Symmetry symmetry, int threads, long seed)
+		throws IOException, InterruptedException, ExecutionException
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<Void>> workers = new ArrayList<Future<Void>>();
+		try
+		{
+			for (int worker = 0; worker < threads; worker++)
+			{
+				// spreading the puzzles as evenly as possible over the workers
+				int share = count / threads + (worker < count % threads ? 1 : 0);
+				PuzzleGenerator generator = new PuzzleGenerator(new Random(seed + worker), clues, symmetry);
+				workers.add(pool.submit(() ->
+				{
+					generator.writePuzzles(out, share);
+					return null;
+				}));
+			}
+			for (Future<Void> worker : workers)
+				worker.get();
+		}
+		catch (ExecutionException ee)
+		{
+			if (ee.getCause() instanceof IOException)
+				throw (IOException) ee.getCause();
+			throw ee;
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Generates puzzles and writes them one per line, a chunk at a time.
+	 *
+	 * @param out - where the puzzle lines go; it is locked while a chunk is written
+	 * @param count - the number of puzzles
+	 */
+	public void writePuzzles(Writer out, int count) throws IOException
+	{
+		Matrix board = new Matrix();
+		StringBuilder chunk = new StringBuilder(CHUNK_SIZE * (PuzzleFormat.LINE_LENGTH + 1));
+		for (int i = 0; i < count; i++)
+		{
+			generate(board);
+			PuzzleFormat.format(board, chunk);
+			chunk.append('\n');
+
+			if ((i + 1) % CHUNK_SIZE == 0 || i == count - 1)
+			{
+				synchronized (out)
+				{
+					out.append(chunk);
+				}
+				chunk.setLength(0);
+			}
+		}
+	}
+
+	/**
+	 * Generates one puzzle into a Matrix, replacing whatever it held. Every clue is given information.
+	 *
+	 * @param board - the Matrix to fill
+	 * @return the number of clues in the puzzle
+	 */
+	public int generate(Matrix board)
+	{
+		fillGrid(board);
+
+		// trying each square (and its partner) in a random order
+		shuffle(order);
+		int clues = DIMENSION * DIMENSION;
+		for (int i = 0; i < order.length && clues > targetClues; i++)
+		{
+			int cell = order[i];
+			int partner = symmetry.partner(cell);
+			int row = cell / DIMENSION;
+			int col = cell % DIMENSION;
+			int val = board.getAt(row, col);
+			if (val == EMPTY)
+				continue;
+
+			// a pair that would go below the target is skipped, so the target is never passed
+			int removed = partner == cell ? 1 : 2;
+			if (clues - removed < targetClues)
+				continue;
+
+			int partnerVal = board.getAt(partner / DIMENSION, partner % DIMENSION);
+			board.setGivenInformationAt(row, col, EMPTY);
+			board.setGivenInformationAt(partner / DIMENSION, partner % DIMENSION, EMPTY);
+			if (solver.countSolutions(board, 2) == 1)
+				clues -= removed;
+			else
+			{
+				// the puzzle stopped being unique, so both clues go back
+				board.setGivenInformationAt(row, col, val);
+				board.setGivenInformationAt(partner / DIMENSION, partner % DIMENSION, partnerVal);
+			}
+		}
+		return clues;
+	}
+
+	/**
+	 * Fills a Matrix with a random full grid, all of it given information.
+	 *
+	 * @param board - the Matrix to fill
+	 */
+	private void fillGrid(Matrix board)
+	{
+		board.clear();
+
+		// the boxes on the main diagonal share no row or column, so any numbers in them are fine
+		for (int box = 0; box < DIMENSION; box += 4)
+		{
+			shuffle(digits);
+			int topRow = (box / 3) * 3;
+			int leftCol = (box % 3) * 3;
+			for (int i = 0; i < DIMENSION; i++)
+				board.setGivenInformationAt(topRow + i / 3, leftCol + i % 3, digits[i]);
+		}
+
+		// the solver completes the rest, and every square becomes given
+		solver.solve(board);
+		for (int row = 0; row < DIMENSION; row++)
+			for (int col = 0; col < DIMENSION; col++)
+				board.setGivenInformationAt(row, col, board.getAt(row, col));
+	}
+
+	/**
+	 * Shuffles an array in place (Fisher-Yates).
+	 *
+	 * @param values - the array to shuffle
+	 */
+	private void shuffle(int[] values)
+	{
+		for (int i = values.length - 1; i > 0; i--)
+		{
+			int j = random.nextInt(i + 1);
+			int temp = values[i];
+			values[i] = values[j];
+			values[j] = temp;
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package Sudoku;
+
+// For clearing the scratch arrays
+import java.util.Arrays;
+
+/**
+ * ScalarBoardKernel - the BoardKernel for JVMs without the Vector API, using plain ints.
+ *
+ * It still works on a block of boards at a time, with the boards as the inner loop, as reading a batch one
+ * board at a time would jump a whole capacity of ints between squares.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+class ScalarBoardKernel implements BoardKernel
+{
+	/* BLOCK is the number of boards worked on together: the same square of BLOCK boards sits together in a
+	 * batch, so the boards are the inner loop and every read is the next int in memory
+	 */
+	private static final int BLOCK = BoardBatch.LANE_MULTIPLE;
+
+	@Override
+	public void candidates(BoardBatch boards, int[] masks)
+	{
+		check(boards, null, masks.length, (long) boards.getDimension() * boards.getDimension() * boards.getCapacity(),
+			"ScalarBoardKernel.candidates(BoardBatch, int[])");
+
+		int dimension = boards.getDimension();
+		int boxSize = boards.getBoxSize();
+		int capacity = boards.getCapacity();
+		int allDigits = (1 << dimension) - 1;
+		int[] values = boards.values();
+		int[][] units = PropagatingSolver.buildUnits(boxSize);
+		// the used numbers of every unit, BLOCK boards per unit
+		int[] used = new int[units.length * BLOCK];
+
+		for (int base = 0; base < boards.size(); base += BLOCK)
+		{
+			for (int unit = 0; unit < units.length; unit++)
+				usedIn(units[unit], values, capacity, base, used, unit * BLOCK);
+
+			for (int square = 0; square < dimension * dimension; square++)
+			{
+				int row = square / dimension * BLOCK;
+				int col = (dimension + square % dimension) * BLOCK;
+				int box = (2 * dimension + (square / dimension / boxSize) * boxSize + square % dimension / boxSize) * BLOCK;
+				int out = square * capacity + base;
+				for (int board = 0; board < BLOCK; board++)
+					masks[out + board] = ~(used[row + board] | used[col + board] | used[box + board]) & allDigits;
+			}
+		}
+	}
+
+	@Override
+	public void validate(BoardBatch solutions, BoardBatch puzzles, boolean[] valid)
+	{
+		check(solutions, puzzles, valid.length, solutions.size(), "ScalarBoardKernel.validate(BoardBatch, BoardBatch, boolean[])");
+
+		int dimension = solutions.getDimension();
+		int capacity = solutions.getCapacity();
+		int allDigits = (1 << dimension) - 1;
+		int[] values = solutions.values();
+		int[] givens = puzzles == null ? null : puzzles.values();
+		int[][] units = PropagatingSolver.buildUnits(solutions.getBoxSize());
+		int[] used = new int[BLOCK];
+		// bad has a bit set for every board found to be wrong
+		int[] bad = new int[BLOCK];
+
+		for (int base = 0; base < solutions.size(); base += BLOCK)
+		{
+			Arrays.fill(bad, 0);
+
+			// a unit of dimension squares holds every number exactly when it is full and has no repeats
+			for (int[] unit : units)
+			{
+				usedIn(unit, values, capacity, base, used, 0);
+				for (int board = 0; board < BLOCK; board++)
+					bad[board] |= used[board] ^ allDigits;
+			}
+
+			if (givens != null)
+			{
+				for (int square = 0; square < dimension * dimension; square++)
+				{
+					int at = square * capacity + base;
+					// the bit of a given number that is not the number placed (an empty given has no bit)
+					for (int board = 0; board < BLOCK; board++)
+						bad[board] |= ((1 << givens[at + board]) >>> 1) & ~((1 << values[at + board]) >>> 1);
+				}
+			}
+
+			for (int board = 0; board < BLOCK && base + board < solutions.size(); board++)
+				valid[base + board] = bad[board] == 0;
+		}
+	}
+
+	@Override
+	public String getName()
+	{
+		return "scalar";
+	}
+
+	/**
+	 * Finds the numbers used in one unit of a block of boards.
+	 *
+	 * @param unit - the squares of the unit
+	 * @param values - the numbers of the batch
+	 * @param capacity - the capacity of the batch
+	 * @param base - the index of the first board of the block
+	 * @param used - where the bitmasks of the numbers used go, one per board
+	 * @param offset - where in used the first board's goes
+	 */
+	private static void usedIn(int[] unit, int[] values, int capacity, int base, int[] used, int offset)
+	{
+		Arrays.fill(used, offset, offset + BLOCK, 0);
+		for (int square : unit)
+		{
+			int at = square * capacity + base;
+			// (1 << val) >>> 1 is the bit of val, and 0 for an empty square
+			for (int board = 0; board < BLOCK; board++)
+				used[offset + board] |= (1 << values[at + board]) >>> 1;
+		}
+	}
+
+	/**
+	 * Checks the arguments a kernel operation is given.
+	 *
+	 * @param boards - the batch worked on
+	 * @param other - a second batch that must match the first, or null
+	 * @param length - the length of the output array
+	 * @param needed - the length it must have at least
+	 * @param method - the method checking, for the message
+	 */
+	static void check(BoardBatch boards, BoardBatch other, int length, long needed, String method)
+		throws IllegalArgumentException
+	{
+		if (length < needed || (other != null && (other.getBoxSize() != boards.getBoxSize()
+			|| other.getCapacity() != boards.getCapacity() || other.size() != boards.size())))
+			throw new IllegalArgumentException("Invalid arguments passed into " + method);
+	}
+}
@@ -0,0 +1,352 @@
+package Sudoku;
+
+// For reading and writing checkpoint files
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * SearchCheckpoint - where a PropagatingSolver count has got to, so it can be carried on later, in another
+ * process or on another machine, exactly from that point.
+ *
+ * The state of the search is small: the puzzle, the stack of guesses (for each level, the square guessed on,
+ * the number now placed there and the numbers not yet tried) and the counters. Everything else, the numbers
+ * forced after each guess, is worked out again by propagating, which gives the same board every time.
+ *
+ * A checkpoint either continues a search (the subtree under the current guesses is done, and the next step
+ * is to take back the last guess) or starts a part of one: split makes one part per subtree at a fixed
+ * depth, whose levels have no numbers left to try, so each part only searches under its own prefix and the
+ * parts' counts add up to the whole count. Every later checkpoint of a part is marked as one too, as the
+ * guesses above it are not dead ends when the part runs out of numbers to try (see TranspositionTable).
+ *
+ * The file is MAGIC, VERSION, the box size, a flags byte (1 for a part not started yet, 2 for any part), the
+ * limit, count, guesses and random state as longs, one byte per square of the puzzle (0 for empty), the depth
+ * as a short, then per level the square (short), the number (byte, 0 if the guess has not been made yet) and
+ * the numbers left to try (int bitmask). Every value is big-endian. A file is written whole to a temporary file
+ * first and then moved over the old one, so a crash while writing leaves the previous checkpoint behind.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SearchCheckpoint
+{
+	/* MAGIC starts every checkpoint file
+	 * VERSION is the layout described above
+	 * HEADER_SIZE is the bytes before the puzzle
+	 * FRESH is the flag of a part that has not been started, and PART the flag of any checkpoint of a part
+	 */
+	static final int MAGIC = 0x53434B50;
+	static final int VERSION = 1;
+	private static final int HEADER_SIZE = 2 * Integer.BYTES + 2 + 4 * Long.BYTES;
+	private static final int FRESH = 1;
+	private static final int PART = 2;
+
+	/* boxSize is the box size of the puzzle, and puzzle its numbers, square by square (0 for empty)
+	 * fresh says whether this is a part whose search has not started, so the board under the guesses is yet
+	 *     to be searched, and part whether it is a part or a later checkpoint of one
+	 * limit is the count the search stops at (Long.MAX_VALUE for none), count the solutions found so far,
+	 *     nodes the guesses made so far, and random the state of a seeded search's random numbers
+	 * cells, digits and options hold, for each level of the stack, the square guessed on, the number placed
+	 *     there (0 if not yet guessed) and the numbers not yet tried
+	 */
+	private int boxSize;
+	private byte[] puzzle;
+	private boolean fresh;
+	private boolean part;
+	private long limit;
+	private long count;
+	private long nodes;
+	private long random;
+	private int[] cells;
+	private int[] digits;
+	private int[] options;
+
+	/**
+	 * SearchCheckpoint constructor, used by PropagatingSolver
+	 *
+	 * @param boxSize - the box size of the puzzle
+	 * @param puzzle - the numbers of the puzzle, square by square (0 for empty)
+	 * @param fresh - whether the search under the guesses has yet to start
+	 * @param part - whether the search is a part of a split count (always true if fresh)
+	 * @param limit - the count the search stops at
+	 * @param count - the solutions found so far
+	 * @param nodes - the guesses made so far
+	 * @param random - the state of the random numbers
+	 * @param cells - the square of each level
+	 * @param digits - the number placed at each level, or 0
+	 * @param options - the numbers not yet tried at each level
+	 */
+	SearchCheckpoint(int boxSize, byte[] puzzle, boolean fresh, boolean part, long limit, long count, long nodes,
+		long random, int[] cells, int[] digits, int[] options)
+	{
+		this.boxSize = boxSize;
+		this.puzzle = puzzle;
+		this.fresh = fresh;
+		this.part = fresh || part;
+		this.limit = limit;
+		this.count = count;
+		this.nodes = nodes;
+		this.random = random;
+		this.cells = cells;
+		this.digits = digits;
+		this.options = options;
+	}
+
+	/**
+	 * Reads a checkpoint file.
+	 *
+	 * @param file - the file
+	 * @return the checkpoint
+	 */
+	public static SearchCheckpoint read(Path file) throws IOException, IllegalArgumentException
+	{
+		ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+		try
+		{
+			if (in.getInt() != MAGIC || in.getInt() != VERSION)
+				throw new IllegalArgumentException("Invalid checkpoint file passed into SearchCheckpoint.read(Path): " + file);
+
+			int boxSize = in.get();
+			int flags = in.get();
+			boolean fresh = (flags & FRESH) != 0;
+			boolean part = (flags & PART) != 0;
+			long limit = in.getLong();
+			long count = in.getLong();
+			long nodes = in.getLong();
+			long random = in.getLong();
+			if (boxSize < 2 || boxSize > Matrix.MAX_BOX_SIZE || limit < 1 || count < 0 || nodes < 0)
+				throw new IllegalArgumentException("Invalid checkpoint file passed into SearchCheckpoint.read(Path): " + file);
+
+			int dimension = boxSize * boxSize;
+			byte[] puzzle = new byte[dimension * dimension];
+			in.get(puzzle);
+			for (byte val : puzzle)
+				if (val < 0 || val > dimension)
+					throw new IllegalArgumentException("Invalid checkpoint file passed into SearchCheckpoint.read(Path): " + file);
+			int depth = in.getShort();
+			if (depth < 0 || depth > puzzle.length)
+				throw new IllegalArgumentException("Invalid checkpoint file passed into SearchCheckpoint.read(Path): " + file);
+
+			int[] cells = new int[depth];
+			int[] digits = new int[depth];
+			int[] options = new int[depth];
+			for (int level = 0; level < depth; level++)
+			{
+				cells[level] = in.getShort();
+				digits[level] = in.get();
+				options[level] = in.getInt();
+			}
+			return new SearchCheckpoint(boxSize, puzzle, fresh, part, limit, count, nodes, random, cells, digits, options);
+		}
+		catch (BufferUnderflowException bue)
+		{
+			throw new IllegalArgumentException("Invalid checkpoint file passed into SearchCheckpoint.read(Path): " + file
+				+ " is cut short");
+		}
+	}
+
+	/**
+	 * Writes the checkpoint to a file, replacing it in one step.
+	 *
+	 * @param file - the file
+	 */
+	public void write(Path file) throws IOException
+	{
+		ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + puzzle.length + Short.BYTES
+			+ cells.length * (Short.BYTES + 1 + Integer.BYTES));
+		out.putInt(MAGIC);
+		out.putInt(VERSION);
+		out.put((byte) boxSize);
+		out.put((byte) ((fresh ? FRESH : 0) | (part ? PART : 0)));
+		out.putLong(limit);
+		out.putLong(count);
+		out.putLong(nodes);
+		out.putLong(random);
+		out.put(puzzle);
+		out.putShort((short) cells.length);
+		for (int level = 0; level < cells.length; level++)
+		{
+			out.putShort((short) cells[level]);
+			out.put((byte) digits[level]);
+			out.putInt(options[level]);
+		}
+
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(temporary, out.array());
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Makes a board holding the puzzle the search is on.
+	 *
+	 * @return a new Matrix with the puzzle as given information
+	 */
+	public Matrix getPuzzle()
+	{
+		Matrix board = new Matrix(boxSize);
+		int dimension = board.getDimension();
+		for (int square = 0; square < puzzle.length; square++)
+			if (puzzle[square] != 0)
+				board.setGivenInformationAt(square / dimension, square % dimension, puzzle[square]);
+		return board;
+	}
+
+	/**
+	 * Checks whether the search has nothing left to do: every subtree has been searched, or the limit reached.
+	 *
+	 * @return whether it is finished
+	 */
+	public boolean isFinished()
+	{
+		return count >= limit || (!fresh && cells.length == 0);
+	}
+
+	/**
+	 * Gets the count the search stops at.
+	 *
+	 * @return the limit, Long.MAX_VALUE for none
+	 */
+	public long getLimit()
+	{
+		return limit;
+	}
+
+	/**
+	 * Gets the number of solutions found so far.
+	 *
+	 * @return the count
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Gets the number of guesses made so far.
+	 *
+	 * @return the guesses
+	 */
+	public long getNodesVisited()
+	{
+		return nodes;
+	}
+
+	/**
+	 * Gets the number of guesses on the stack.
+	 *
+	 * @return the depth
+	 */
+	public int getDepth()
+	{
+		return cells.length;
+	}
+
+	/**
+	 * Lists the guesses on the stack, like "r1c5=3 r7c2=8", with ? for a guess not made yet.
+	 *
+	 * @return String - the guesses, or "(none)"
+	 */
+	public String getPrefix()
+	{
+		if (cells.length == 0)
+			return "(none)";
+
+		int dimension = boxSize * boxSize;
+		StringBuilder prefix = new StringBuilder();
+		for (int level = 0; level < cells.length; level++)
+		{
+			if (level > 0)
+				prefix.append(' ');
+			prefix.append('r').append(cells[level] / dimension + 1).append('c').append(cells[level] % dimension + 1)
+				.append('=').append(digits[level] == 0 ? "?" : String.valueOf(PuzzleFormat.symbolOf(digits[level])));
+		}
+		return prefix.toString();
+	}
+
+	/**
+	 * Describes the checkpoint on one line.
+	 *
+	 * @return String - the counts and the guesses
+	 */
+	@Override
+	public String toString()
+	{
+		return count + " solutions after " + nodes + " guesses" + (isFinished() ? ", finished" : ", at " + getPrefix());
+	}
+
+	/**
+	 * Gets whether the search under the guesses has yet to start.
+	 *
+	 * @return whether this is a fresh part
+	 */
+	boolean isFresh()
+	{
+		return fresh;
+	}
+
+	/**
+	 * Gets whether the search is a part of a split count, started or not.
+	 *
+	 * @return whether this is a part
+	 */
+	boolean isPart()
+	{
+		return part;
+	}
+
+	/**
+	 * Gets the state of the random numbers of a seeded search.
+	 *
+	 * @return the state
+	 */
+	long getRandom()
+	{
+		return random;
+	}
+
+	/**
+	 * Gets the numbers of the puzzle, square by square.
+	 *
+	 * @return the numbers (0 for empty); not a copy
+	 */
+	byte[] puzzle()
+	{
+		return puzzle;
+	}
+
+	/**
+	 * Gets the square guessed on at a level.
+	 *
+	 * @param level - the level, 0 to getDepth() - 1
+	 * @return the flat index of the square
+	 */
+	int getCell(int level)
+	{
+		return cells[level];
+	}
+
+	/**
+	 * Gets the number placed at a level.
+	 *
+	 * @param level - the level, 0 to getDepth() - 1
+	 * @return the number, or 0 if the guess has not been made yet
+	 */
+	int getDigit(int level)
+	{
+		return digits[level];
+	}
+
+	/**
+	 * Gets the numbers not yet tried at a level.
+	 *
+	 * @param level - the level, 0 to getDepth() - 1
+	 * @return the bitmask of the numbers
+	 */
+	int getOptions(int level)
+	{
+		return options[level];
+	}
+}
@@ -0,0 +1,152 @@
+package Sudoku;
+
+// For writing the log file
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SearchLog - records every number a search places and takes back, two bytes per event, so a long search
+ * can run at full speed and be looked at afterwards with SearchReplay.
+ *
+ * The file starts with MAGIC. Each solve is a START word (with the box size in its low bits) followed by
+ * one byte per square of the starting board (0 for empty), then its events, then an END word (with 1 in its
+ * low bit if a solution was found). Every word is big-endian:
+ *     0vvvvvcc cccccccc - a number v (1-25) placed in square c (the flat index, row * dimension + column)
+ *     000000cc cccccccc - square c emptied again
+ *     10000000 00000bbb - START of a board with box size b
+ *     11000000 0000000s - END of the solve, s = solved
+ *
+ * Writing errors do not stop the search: the first one is remembered, logging stops, and close throws it.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SearchLog implements Closeable
+{
+	/* MAGIC starts every log file
+	 * START, END and VALUE_SHIFT lay out the words described above
+	 * BUFFER_SIZE is how many bytes are collected before they are written out
+	 */
+	static final int MAGIC = 0x534C4F47;
+	static final int START = 0x8000;
+	static final int END = 0xC000;
+	static final int VALUE_SHIFT = 10;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/* channel is the log file
+	 * buffer collects events until it is full
+	 * failure is the first writing error, or null
+	 */
+	private FileChannel channel;
+	private ByteBuffer buffer;
+	private IOException failure;
+
+	/**
+	 * SearchLog constructor - creates (or empties) the log file.
+	 *
+	 * @param file - the file to write to
+	 */
+	public SearchLog(Path file) throws IOException
+	{
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+			StandardOpenOption.TRUNCATE_EXISTING);
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		buffer.putInt(MAGIC);
+	}
+
+	/**
+	 * Starts the record of a solve with the board as it is before the search.
+	 *
+	 * @param board - the board about to be searched
+	 */
+	public void start(Matrix board)
+	{
+		int dimension = board.getDimension();
+		putWord(START | board.getBoxSize());
+		for (int row = 0; row < dimension; row++)
+			for (int col = 0; col < dimension; col++)
+			{
+				if (!buffer.hasRemaining())
+					drain();
+				int val = board.getAt(row, col);
+				buffer.put((byte) (val == -1 ? 0 : val));
+			}
+	}
+
+	/**
+	 * Records a number placed.
+	 *
+	 * @param cell - the flat index of the square
+	 * @param val - the number, 1 to the dimension
+	 */
+	public void assign(int cell, int val)
+	{
+		putWord(val << VALUE_SHIFT | cell);
+	}
+
+	/**
+	 * Records a square emptied again.
+	 *
+	 * @param cell - the flat index of the square
+	 */
+	public void undo(int cell)
+	{
+		putWord(cell);
+	}
+
+	/**
+	 * Ends the record of a solve.
+	 *
+	 * @param solved - whether a solution was found
+	 */
+	public void finish(boolean solved)
+	{
+		putWord(END | (solved ? 1 : 0));
+	}
+
+	/**
+	 * Writes out everything recorded and closes the file.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		drain();
+		channel.close();
+		if (failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Adds one word, writing the buffer out first if it is full.
+	 *
+	 * @param word - the word
+	 */
+	private void putWord(int word)
+	{
+		if (buffer.remaining() < 2)
+			drain();
+		buffer.putShort((short) word);
+	}
+
+	/**
+	 * Writes the buffer out and empties it. After an error the buffer is just emptied.
+	 */
+	private void drain()
+	{
+		buffer.flip();
+		try
+		{
+			while (failure == null && buffer.hasRemaining())
+				channel.write(buffer);
+		}
+		catch (IOException ioe)
+		{
+			failure = ioe;
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,18 @@
+package Sudoku;
+
+/**
+ * SearchRecorder interface - a search strategy that can record every number it places and takes back
+ * to a SearchLog.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public interface SearchRecorder
+{
+	/**
+	 * Sets the log that every following solve (or count) is recorded to.
+	 *
+	 * @param log - the log, or null to stop recording
+	 */
+	void setSearchLog(SearchLog log);
+}
@@ -0,0 +1,201 @@
+package Sudoku;
+
+// For reading the log file
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SearchReplay - reads a SearchLog back and rebuilds the board as it stood at any step of any solve in it.
+ *
+ * The log is memory-mapped, so jumping to a late step of a long search only costs applying the events
+ * before it. A step is a number placed, counted the same way as the solver's steps taken: step 0 is the
+ * board before the search, and the last step is the board the search ended with.
+ *
+ * Usage: java Sudoku.SearchReplay log [--list] [--puzzle n] [--step n]
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SearchReplay
+{
+	/* EMPTY represents the value used for "empty" cells
+	 * LAST_STEP asks for the board at the end of a solve
+	 */
+	private static final int EMPTY = -1;
+	public static final long LAST_STEP = Long.MAX_VALUE;
+
+	/* log is the whole log file, mapped into memory
+	 * steps, undos and solved describe the last solve replayed
+	 */
+	private ByteBuffer log;
+	private long steps;
+	private long undos;
+	private boolean solved;
+
+	/**
+	 * SearchReplay constructor - maps a log file and checks that it is one.
+	 *
+	 * @param file - the log file
+	 */
+	public SearchReplay(Path file) throws IOException, IllegalArgumentException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IllegalArgumentException("Log file " + file + " is too large to map");
+			this.log = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (log.remaining() < 4 || log.getInt(0) != SearchLog.MAGIC)
+			throw new IllegalArgumentException("Invalid log file passed into SearchReplay(Path): " + file);
+	}
+
+	/**
+	 * The main method - for looking at a logged search.
+	 *
+	 * @param args - command line arguments: the log file, then --list to list every solve in it, or an optional
+	 *     --puzzle (which solve, counting from 1, default 1) and --step (default the last one) to print a board
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		String fileName = null;
+		boolean list = false;
+		int puzzle = 1;
+		long step = LAST_STEP;
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				if (args[i].equals("--list"))
+					list = true;
+				else if (args[i].equals("--puzzle") && i + 1 < args.length)
+					puzzle = Integer.parseInt(args[++i]);
+				else if (args[i].equals("--step") && i + 1 < args.length)
+					step = Long.parseLong(args[++i]);
+				else
+					fileName = args[i];
+			}
+			if (fileName == null || puzzle < 1 || step < 0)
+				throw new IllegalArgumentException("a log file is needed, and --puzzle and --step cannot be negative");
+
+			SearchReplay replay = new SearchReplay(Paths.get(fileName));
+			if (list)
+			{
+				replay.list();
+				return;
+			}
+
+			Matrix board = replay.replay(puzzle, step);
+			if (board == null)
+			{
+				System.err.println("The log holds fewer than " + puzzle + " solves");
+				return;
+			}
+			System.out.println("puzzle " + puzzle + ", step " + replay.steps + " (" + replay.undos + " undone so far)"
+				+ (step == LAST_STEP ? (replay.solved ? ", solved" : ", no solution") : ""));
+			System.out.print(board);
+		}
+		catch (IllegalArgumentException iae)
+		{
+			// NumberFormatException is an IllegalArgumentException too
+			System.err.println("Invalid arguments: " + iae.getMessage());
+		}
+	}
+
+	/**
+	 * Prints one line for every solve in the log: its steps, undos and result.
+	 */
+	public void list()
+	{
+		int position = 4;
+		int puzzle = 0;
+		while (position < log.limit())
+		{
+			puzzle++;
+			position = scan(position, null, LAST_STEP);
+			System.out.println("puzzle " + puzzle + ": " + steps + " steps, " + undos + " undone, "
+				+ (solved ? "solved" : "no solution"));
+		}
+	}
+
+	/**
+	 * Rebuilds the board of one solve at one step.
+	 *
+	 * @param puzzle - which solve, counting from 1
+	 * @param step - the number of numbers placed so far, or LAST_STEP for the end of the solve
+	 * @return the board at that step (the starting numbers are given information), or null if the log
+	 *     holds fewer solves
+	 */
+	public Matrix replay(int puzzle, long step)
+	{
+		int position = 4;
+		for (int skipped = 1; skipped < puzzle; skipped++)
+		{
+			if (position >= log.limit())
+				return null;
+			position = scan(position, null, LAST_STEP);
+		}
+		if (position >= log.limit())
+			return null;
+
+		Matrix board = new Matrix(log.getShort(position) & 7);
+		scan(position, board, step);
+		return board;
+	}
+
+	/**
+	 * Reads one solve from the log, applying its events to a board up to a step.
+	 *
+	 * @param position - where the solve's START word is
+	 * @param board - the board to rebuild, or null to only count
+	 * @param step - the step to stop applying events at
+	 * @return where the next solve starts
+	 */
+	private int scan(int position, Matrix board, long step) throws IllegalArgumentException
+	{
+		int word = log.getShort(position) & 0xFFFF;
+		if ((word & SearchLog.END) != SearchLog.START)
+			throw new IllegalArgumentException("Damaged log: no solve starts at byte " + position);
+
+		int dimension = (word & 7) * (word & 7);
+		position += 2;
+		for (int cell = 0; board != null && cell < dimension * dimension; cell++)
+			if (log.get(position + cell) != 0)
+				board.setGivenInformationAt(cell / dimension, cell % dimension, log.get(position + cell));
+		position += dimension * dimension;
+
+		steps = 0;
+		undos = 0;
+		solved = false;
+		boolean reached = false;
+		while (position + 2 <= log.limit())
+		{
+			word = log.getShort(position) & 0xFFFF;
+			position += 2;
+			if ((word & SearchLog.END) == SearchLog.END)
+			{
+				solved = (word & 1) != 0;
+				break;
+			}
+
+			// once the step is reached, the rest of the solve is only skipped over
+			if (steps == step)
+				reached = true;
+			if (reached)
+				continue;
+
+			int val = word >> SearchLog.VALUE_SHIFT;
+			int cell = word & ((1 << SearchLog.VALUE_SHIFT) - 1);
+			if (val == 0)
+				undos++;
+			else
+				steps++;
+			if (board != null)
+				board.setAt(cell / dimension, cell % dimension, val == 0 ? EMPTY : val);
+		}
+		return position;
+	}
+}
@@ -0,0 +1,162 @@
+package Sudoku;
+
+// For the entries, kept in least recently used order
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SolutionCache - remembers the solutions of the puzzles solved most recently, keyed by their canonical form
+ * (see Canonicalizer), so a puzzle that is only a relabelled, reordered or transposed copy of one already
+ * solved is not solved again.
+ *
+ * The cache holds at most a fixed number of puzzles; when it is full, the one used least recently is
+ * dropped. Puzzles with no solution are remembered too. The cache is safe to share between threads, and
+ * counts its hits, misses and evictions.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SolutionCache
+{
+	/* NO_SOLUTION is the value kept for puzzles that cannot be solved
+	 */
+	private static final byte[] NO_SOLUTION = new byte[0];
+
+	/* capacity is the most puzzles kept
+	 * entries maps each canonical form to its canonical solution, least recently used first
+	 * hits, misses and evictions count the lookups that found a puzzle, those that did not,
+	 *     and the puzzles dropped to make room
+	 */
+	private int capacity;
+	private LinkedHashMap<String, byte[]> entries;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * SolutionCache constructor
+	 *
+	 * @param capacity - the most puzzles kept, at least 1
+	 */
+	public SolutionCache(int capacity) throws IllegalArgumentException
+	{
+		if (capacity < 1)
+			throw new IllegalArgumentException("Invalid capacity passed into SolutionCache(int)");
+
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<String, byte[]>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest)
+			{
+				if (size() <= SolutionCache.this.capacity)
+					return false;
+				evictions++;
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Looks up a puzzle, counting a hit or a miss.
+	 *
+	 * @param form - the canonical form of the puzzle
+	 * @return the canonical solution, an empty array if the puzzle has no solution, or null if it is not kept
+	 */
+	public synchronized byte[] get(String form)
+	{
+		byte[] solution = entries.get(form);
+		if (solution == null)
+			misses++;
+		else
+			hits++;
+		return solution;
+	}
+
+	/**
+	 * Keeps the solution of a puzzle, dropping the least recently used puzzle if the cache is full.
+	 *
+	 * @param form - the canonical form of the puzzle
+	 * @param solution - the canonical solution, or null if the puzzle has no solution
+	 */
+	public synchronized void put(String form, byte[] solution)
+	{
+		entries.put(form, solution == null ? NO_SOLUTION : solution);
+	}
+
+	/**
+	 * Checks whether a value returned by get stands for a puzzle with no solution.
+	 *
+	 * @param solution - a value returned by get
+	 * @return whether it means "no solution"
+	 */
+	public static boolean isNoSolution(byte[] solution)
+	{
+		return solution != null && solution.length == 0;
+	}
+
+	/**
+	 * Gets the number of puzzles kept now.
+	 *
+	 * @return the size
+	 */
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+
+	/**
+	 * Gets the most puzzles kept.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * Gets the number of lookups that found their puzzle.
+	 *
+	 * @return the hits
+	 */
+	public synchronized long getHits()
+	{
+		return hits;
+	}
+
+	/**
+	 * Gets the number of lookups that did not find their puzzle.
+	 *
+	 * @return the misses
+	 */
+	public synchronized long getMisses()
+	{
+		return misses;
+	}
+
+	/**
+	 * Gets the number of puzzles dropped to make room.
+	 *
+	 * @return the evictions
+	 */
+	public synchronized long getEvictions()
+	{
+		return evictions;
+	}
+
+	/**
+	 * Lists the counters on one line.
+	 *
+	 * @return String - the counters
+	 */
+	@Override
+	public synchronized String toString()
+	{
+		long lookups = hits + misses;
+		return hits + " hits, " + misses + " misses (" + String.format("%.1f", lookups == 0 ? 0.0 : 100.0 * hits / lookups)
+			+ "% hit), " + evictions + " evicted, " + entries.size() + " of " + capacity + " kept";
+	}
+}
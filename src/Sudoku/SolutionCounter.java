@@ -0,0 +1,32 @@
+package Sudoku;
+
+/**
+ * SolutionCounter interface - a search strategy that can count the solutions of a Matrix instead of
+ * stopping at the first one.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public interface SolutionCounter
+{
+	/**
+	 * Counts the solutions of a board, stopping early once the limit is reached. A limit of 2 is enough
+	 * to tell whether a puzzle has no solution, exactly one, or several. The board is left with only the
+	 * values it started with.
+	 *
+	 * @param board - the Matrix whose solutions are counted
+	 * @param limit - the count to stop at, or 0 to count every solution
+	 * @return the number of solutions found, never more than the limit
+	 */
+	long countSolutions(Matrix board, long limit);
+
+	/**
+	 * Counts the solutions of a board, stopping early once the limit is reached or the control says to.
+	 *
+	 * @param board - the Matrix whose solutions are counted, left with only the values it started with
+	 * @param limit - the count to stop at, or 0 to count every solution
+	 * @param control - checked at every guess, or null
+	 * @return the number of solutions found before stopping
+	 */
+	long countSolutions(Matrix board, long limit, SolveControl control);
+}
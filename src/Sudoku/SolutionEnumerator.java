@@ -0,0 +1,141 @@
+package Sudoku;
+
+// For the checkpoint files
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * SolutionEnumerator - counts every solution of one puzzle, however long it takes, with checkpoints.
+ *
+ * A sparse grid can have millions of solutions and take hours to count. With --checkpoint, the count writes
+ * a SearchCheckpoint every --interval seconds and again when it stops (on finishing, on --timeout, or on
+ * Ctrl-C), and --resume carries it on from the file. --split cuts the count into parts under a fixed number
+ * of guesses, written as numbered checkpoint files that can be resumed anywhere; the total is the sum of the
+ * parts' counts.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SolutionEnumerator
+{
+	/**
+	 * No SolutionEnumerator objects are needed; everything is static.
+	 */
+	private SolutionEnumerator()
+	{
+	}
+
+	/**
+	 * The main method - for counting, resuming, or splitting.
+	 *
+	 * @param args - command line arguments: an optional --limit (0 for none), an optional --checkpoint and
+	 *     --interval (seconds, default 60), an optional --timeout (milliseconds), and either a puzzle line,
+	 *     --resume and a checkpoint file, or --split and a depth with a puzzle line (the parts are written to
+	 *     the --checkpoint name followed by .1, .2 and so on)
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		long limit = 0;
+		String checkpointName = null;
+		long interval = 60;
+		long timeout = 0;
+		String resumeName = null;
+		int splitDepth = 0;
+		String puzzle = null;
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				if (args[i].equals("--limit") && i + 1 < args.length)
+					limit = Long.parseLong(args[++i]);
+				else if (args[i].equals("--checkpoint") && i + 1 < args.length)
+					checkpointName = args[++i];
+				else if (args[i].equals("--interval") && i + 1 < args.length)
+					interval = Long.parseLong(args[++i]);
+				else if (args[i].equals("--timeout") && i + 1 < args.length)
+					timeout = Long.parseLong(args[++i]);
+				else if (args[i].equals("--resume") && i + 1 < args.length)
+					resumeName = args[++i];
+				else if (args[i].equals("--split") && i + 1 < args.length)
+					splitDepth = Integer.parseInt(args[++i]);
+				else
+					puzzle = args[i].trim();
+			}
+			if ((puzzle == null) == (resumeName == null) || (splitDepth != 0 && (puzzle == null || checkpointName == null)))
+				throw new IllegalArgumentException("give a puzzle line or --resume, and --split needs a puzzle and --checkpoint");
+			if (limit < 0 || interval < 1 || timeout < 0 || splitDepth < 0)
+				throw new IllegalArgumentException("--limit and --timeout cannot be negative, or --interval and --split less than 1");
+
+			PropagatingSolver solver = new PropagatingSolver(false);
+			Matrix board = null;
+			if (puzzle != null)
+			{
+				int boxSize = PuzzleFormat.boxSizeOf(puzzle.length());
+				board = boxSize == 0 ? null : new Matrix(boxSize);
+				if (board == null || !PuzzleFormat.parse(puzzle, board))
+					throw new IllegalArgumentException("\"" + puzzle + "\" is not a legal puzzle");
+			}
+
+			if (splitDepth != 0)
+			{
+				List<SearchCheckpoint> parts = solver.split(board, limit, splitDepth);
+				for (int part = 0; part < parts.size(); part++)
+				{
+					parts.get(part).write(Paths.get(checkpointName + "." + (part + 1)));
+					System.out.println(checkpointName + "." + (part + 1) + ": " + parts.get(part).getPrefix());
+				}
+				System.out.println(parts.size() + " parts");
+				return;
+			}
+
+			SearchCheckpoint checkpoint = resumeName == null ? null : SearchCheckpoint.read(Paths.get(resumeName));
+			// a resumed count goes on checkpointing to its own file unless told otherwise
+			Path checkpointFile = checkpointName != null ? Paths.get(checkpointName)
+				: resumeName != null ? Paths.get(resumeName) : null;
+			solver.setCheckpointFile(checkpointFile, interval * 1000);
+
+			// Ctrl-C stops the count at its next guess, and waits for it to write its last checkpoint
+			SolveControl control = new SolveControl(timeout);
+			Thread counting = Thread.currentThread();
+			Thread stopper = new Thread(() ->
+			{
+				control.cancel();
+				try
+				{
+					counting.join();
+				}
+				catch (InterruptedException ie)
+				{
+					// the JVM is going down either way
+				}
+			});
+			Runtime.getRuntime().addShutdownHook(stopper);
+
+			long count = checkpoint == null ? solver.countSolutions(board, limit, control)
+				: solver.resume(checkpoint, control);
+			long guesses = (checkpoint == null ? 0 : checkpoint.getNodesVisited()) + solver.getMetrics().getNodesVisited();
+
+			System.out.println(count + " solutions, " + guesses + " guesses"
+				+ (control.isStopped() ? ", stopped: " + control.getStopReason().name().toLowerCase() : ""));
+			if (solver.getCheckpointFailure() != null)
+				System.err.println("Could not write a checkpoint: " + solver.getCheckpointFailure().getMessage());
+			else if (control.isStopped() && checkpointFile != null)
+				System.out.println("resume with --resume " + checkpointFile);
+			try
+			{
+				Runtime.getRuntime().removeShutdownHook(stopper);
+			}
+			catch (IllegalStateException ise)
+			{
+				// the JVM is already going down, and the hook is waiting for this thread
+			}
+		}
+		catch (IllegalArgumentException iae)
+		{
+			// NumberFormatException is an IllegalArgumentException too
+			System.err.println("Invalid arguments: " + iae.getMessage());
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package Sudoku;
+
+// For reading the two files
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SolutionVerifier - checks a file of solutions against the file of puzzles they are for.
+ *
+ * The puzzles are read the way BatchSolver reads them (blank lines and # comments skipped), and the solutions
+ * file has one result line per puzzle, as BatchSolver writes it. A solution is right when every row, column
+ * and box holds every number once and it keeps every number of its puzzle. Lines are gathered into a
+ * BoardBatch per box size and checked BATCH_SIZE at a time by a BoardKernel, rather than one Matrix at a time.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SolutionVerifier
+{
+	/* BATCH_SIZE is the number of solutions of one box size checked at a time
+	 */
+	public static final int BATCH_SIZE = 4096;
+
+	/* kernel does the checking
+	 * puzzles and solutions hold the lines waiting to be checked, one batch per box size (made when needed)
+	 * lineNumbers holds the solutions file line number of each one, per box size (negated if its puzzle could
+	 *     not be read)
+	 * valid is where the kernel writes its answers
+	 * checked counts the solutions checked, unsolved the puzzles the solutions file gave no solution for,
+	 *     and wrong holds the line numbers of the wrong solutions
+	 */
+	private BoardKernel kernel;
+	private BoardBatch[] puzzles;
+	private BoardBatch[] solutions;
+	private int[][] lineNumbers;
+	private boolean[] valid;
+	private long checked;
+	private long unsolved;
+	private List<Long> wrong;
+
+	/**
+	 * SolutionVerifier constructor
+	 *
+	 * @param kernel - the kernel to check with
+	 */
+	public SolutionVerifier(BoardKernel kernel)
+	{
+		this.kernel = kernel;
+		this.puzzles = new BoardBatch[Matrix.MAX_BOX_SIZE + 1];
+		this.solutions = new BoardBatch[Matrix.MAX_BOX_SIZE + 1];
+		this.lineNumbers = new int[Matrix.MAX_BOX_SIZE + 1][];
+		this.valid = new boolean[BATCH_SIZE];
+		this.wrong = new ArrayList<Long>();
+	}
+
+	/**
+	 * The main method - for checking a solutions file.
+	 *
+	 * @param args - command line arguments: the puzzles file and the solutions file
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length != 2)
+		{
+			System.err.println("Usage: java Sudoku.SolutionVerifier puzzles.txt solutions.txt");
+			return;
+		}
+
+		SolutionVerifier verifier = new SolutionVerifier(BoardKernel.getInstance());
+		try (BufferedReader puzzleIn = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.US_ASCII);
+			BufferedReader solutionIn = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.US_ASCII))
+		{
+			int lineNumber = 0;
+			String puzzle;
+			while ((puzzle = puzzleIn.readLine()) != null)
+			{
+				if (BatchSolver.isSkipped(puzzle))
+					continue;
+
+				String solution = solutionIn.readLine();
+				if (solution == null)
+				{
+					System.err.println("The solutions file ends before the puzzles file does");
+					break;
+				}
+				verifier.add(puzzle.trim(), solution.trim(), ++lineNumber);
+			}
+		}
+
+		List<Long> wrong = verifier.getWrong();
+		for (long lineNumber : wrong)
+			System.out.println("line " + lineNumber + ": wrong");
+		System.out.println("checked " + verifier.getChecked() + " solutions with the " + verifier.kernel.getName()
+			+ " kernel: " + wrong.size() + " wrong, " + verifier.getUnsolved() + " unsolved");
+	}
+
+	/**
+	 * Adds a solution to be checked, checking a whole batch whenever one fills up.
+	 *
+	 * @param puzzle - the puzzle line
+	 * @param solution - the result line written for it
+	 * @param lineNumber - the line number of the result, for reporting it
+	 */
+	public void add(String puzzle, String solution, long lineNumber)
+	{
+		if (solution.equals(BatchSolver.NO_SOLUTION) || solution.equals(BatchSolver.INVALID)
+			|| solution.equals(BatchSolver.TIMEOUT))
+		{
+			unsolved++;
+			return;
+		}
+
+		checked++;
+		int boxSize = PuzzleFormat.boxSizeOf(puzzle.length());
+		if (boxSize == 0 || solution.length() != puzzle.length())
+		{
+			wrong.add(lineNumber);
+			return;
+		}
+
+		if (solutions[boxSize] == null)
+		{
+			puzzles[boxSize] = new BoardBatch(boxSize, BATCH_SIZE);
+			solutions[boxSize] = new BoardBatch(boxSize, BATCH_SIZE);
+			lineNumbers[boxSize] = new int[BATCH_SIZE];
+		}
+
+		// a line that cannot be read is wrong without asking the kernel
+		int index = solutions[boxSize].add(solution);
+		if (index == -1)
+		{
+			wrong.add(lineNumber);
+			return;
+		}
+		// BatchSolver writes INVALID for a puzzle it cannot read, so a solution to one is wrong as well; the
+		// solution stands in for it to keep the two batches in step, and its line number is kept negated
+		boolean readable = puzzles[boxSize].add(puzzle) != -1;
+		if (!readable)
+			puzzles[boxSize].add(solution);
+		lineNumbers[boxSize][index] = readable ? (int) lineNumber : (int) -lineNumber;
+
+		if (solutions[boxSize].size() == BATCH_SIZE)
+			check(boxSize);
+	}
+
+	/**
+	 * Checks the solutions waiting in the batch of one box size, and empties it.
+	 *
+	 * @param boxSize - the box size
+	 */
+	private void check(int boxSize)
+	{
+		kernel.validate(solutions[boxSize], puzzles[boxSize], valid);
+		for (int index = 0; index < solutions[boxSize].size(); index++)
+			if (!valid[index] || lineNumbers[boxSize][index] < 0)
+				wrong.add((long) Math.abs(lineNumbers[boxSize][index]));
+		solutions[boxSize].clear();
+		puzzles[boxSize].clear();
+	}
+
+	/**
+	 * Gets the number of solutions checked so far, right or wrong.
+	 *
+	 * @return the count
+	 */
+	public long getChecked()
+	{
+		return checked;
+	}
+
+	/**
+	 * Gets the number of puzzles the solutions file gave no solution for.
+	 *
+	 * @return the count
+	 */
+	public long getUnsolved()
+	{
+		return unsolved;
+	}
+
+	/**
+	 * Checks whatever is still waiting, and gets the line numbers of every wrong solution.
+	 *
+	 * @return the line numbers, in order
+	 */
+	public List<Long> getWrong()
+	{
+		for (int boxSize = 2; boxSize <= Matrix.MAX_BOX_SIZE; boxSize++)
+			if (solutions[boxSize] != null && solutions[boxSize].size() > 0)
+				check(boxSize);
+		Collections.sort(wrong);
+		return wrong;
+	}
+}
@@ -0,0 +1,190 @@
+package Sudoku;
+
+/**
+ * SolveControl - a deadline, a cancellation token and a progress listener for one solve.
+ *
+ * A solver checks its control at every node of the search (every guess, or every choice of an exact cover
+ * search). The check is meant to cost next to nothing: it reads one volatile field and counts the node,
+ * and only looks at the clock every SAMPLE nodes, which is when the deadline and the progress listener are
+ * seen to. cancel can be called from any thread, and the search stops at its next node. A control is for
+ * one solve; make a new one for the next.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SolveControl
+{
+	/* SAMPLE is how many nodes go by between looks at the clock (a power of two)
+	 */
+	private static final int SAMPLE = 256;
+
+	/* parent is the control this one is a branch of (it stops when the parent does), or null
+	 * stopReason is why the search was stopped, or null while it may go on
+	 * startTime is when the control was made, and deadline when the search must stop (if hasDeadline)
+	 * nodes counts the nodes checked (with several threads checking at once, roughly)
+	 * listener hears about progress every interval nanoseconds, and nextProgress is when it is next due
+	 */
+	private SolveControl parent;
+	private volatile SolveOutcome stopReason;
+	private long startTime;
+	private boolean hasDeadline;
+	private long deadline;
+	private long nodes;
+	private ProgressListener listener;
+	private long interval;
+	private long nextProgress;
+
+	/**
+	 * SolveControl constructor with no deadline; the search only stops if cancelled
+	 */
+	public SolveControl()
+	{
+		this(0);
+	}
+
+	/**
+	 * SolveControl constructor with a deadline
+	 *
+	 * @param timeout - the milliseconds from now the search may run for, 0 for no limit
+	 */
+	public SolveControl(long timeout) throws IllegalArgumentException
+	{
+		if (timeout < 0)
+			throw new IllegalArgumentException("Invalid timeout passed into SolveControl(long)");
+
+		this.startTime = System.nanoTime();
+		this.hasDeadline = timeout != 0;
+		this.deadline = startTime + timeout * 1000000;
+	}
+
+	/**
+	 * SolveControl constructor for a branch of a search: the branch stops when its parent does, and can also be
+	 * cancelled on its own without stopping the parent. Its nodes are counted by the parent.
+	 *
+	 * @param parent - the control of the whole search, or null
+	 */
+	SolveControl(SolveControl parent)
+	{
+		this(0);
+		this.parent = parent;
+	}
+
+	/**
+	 * Has a listener called every so often while the search runs.
+	 *
+	 * @param listener - the listener, or null for none
+	 * @param interval - the milliseconds between calls, at least 1
+	 */
+	public synchronized void setProgressListener(ProgressListener listener, long interval) throws IllegalArgumentException
+	{
+		if (interval < 1)
+			throw new IllegalArgumentException("Invalid interval passed into "
+				+ "SolveControl.setProgressListener(ProgressListener, long)");
+
+		this.listener = listener;
+		this.interval = interval * 1000000;
+		this.nextProgress = System.nanoTime() + this.interval;
+	}
+
+	/**
+	 * Stops the search at its next node. Safe to call from any thread, and more than once.
+	 */
+	public void cancel()
+	{
+		stop(SolveOutcome.CANCELLED);
+	}
+
+	/**
+	 * Checks whether the search has been told to stop, looking at the clock for the deadline.
+	 *
+	 * @return whether it was cancelled or its time is up
+	 */
+	public boolean isStopped()
+	{
+		if (stopReason != null)
+			return true;
+		if (parent != null)
+			return parent.isStopped();
+		if (hasDeadline && System.nanoTime() - deadline >= 0)
+			stop(SolveOutcome.TIMED_OUT);
+		return stopReason != null;
+	}
+
+	/**
+	 * Gets why the search was stopped.
+	 *
+	 * @return SolveOutcome.CANCELLED or SolveOutcome.TIMED_OUT, or null if it was not stopped
+	 */
+	public SolveOutcome getStopReason()
+	{
+		SolveOutcome reason = stopReason;
+		if (reason == null && parent != null)
+			return parent.getStopReason();
+		return reason;
+	}
+
+	/**
+	 * Gets the number of nodes the search has checked in at so far.
+	 *
+	 * @return the nodes
+	 */
+	public long getNodesVisited()
+	{
+		return parent == null ? nodes : parent.getNodesVisited();
+	}
+
+	/**
+	 * Gets the time since the control was made.
+	 *
+	 * @return the nanoseconds elapsed
+	 */
+	public long getElapsedTime()
+	{
+		return System.nanoTime() - startTime;
+	}
+
+	/**
+	 * Checks in at a node of the search. Cheap enough to call at every node.
+	 *
+	 * @return whether the search should stop
+	 */
+	boolean shouldStop()
+	{
+		if (stopReason != null)
+			return true;
+		if (parent != null)
+			return parent.shouldStop();
+		if ((++nodes & (SAMPLE - 1)) != 0)
+			return false;
+		return poll();
+	}
+
+	/**
+	 * Looks at the clock: stops the search if its time is up, and calls the listener if it is due.
+	 *
+	 * @return whether the search should stop
+	 */
+	private synchronized boolean poll()
+	{
+		long now = System.nanoTime();
+		if (hasDeadline && now - deadline >= 0)
+			stop(SolveOutcome.TIMED_OUT);
+		if (listener != null && stopReason == null && now - nextProgress >= 0)
+		{
+			nextProgress = now + interval;
+			listener.progress(this);
+		}
+		return stopReason != null;
+	}
+
+	/**
+	 * Stops the search, keeping the first reason given.
+	 *
+	 * @param reason - why
+	 */
+	private synchronized void stop(SolveOutcome reason)
+	{
+		if (stopReason == null)
+			stopReason = reason;
+	}
+}
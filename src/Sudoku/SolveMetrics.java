@@ -0,0 +1,312 @@
+package Sudoku;
+
+// For measuring the memory a solve allocates
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * SolveMetrics - what one solve did, to explain why a puzzle was slow when stepsTaken alone cannot.
+ *
+ * A solver keeps one SolveMetrics and fills it in again on every solve, so keeping metrics costs no
+ * allocation per puzzle; copy it (new SolveMetrics(other)) to keep the numbers of an earlier solve.
+ * Depth is the number of guesses (or exact cover choices) standing behind a search node. The per-depth
+ * histogram of nodes is only kept when it is turned on with setDepthHistogram.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SolveMetrics
+{
+	/* THREADS reads the bytes allocated by the current thread, or is null when the JVM cannot
+	 * NOT_MEASURED is the allocated bytes when THREADS is null
+	 */
+	private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+	public static final long NOT_MEASURED = -1;
+
+	/* nodesVisited counts every guess placed (every choice in an exact cover search)
+	 * backtracks counts every guess taken back because it led nowhere (or to a solution already counted)
+	 * eliminations counts the squares filled by propagation instead of a guess
+	 * pruned counts the states given up on because a TranspositionTable knew them to be dead ends
+	 * maxDepth is the deepest node reached
+	 * wallTime and allocatedBytes are the nanoseconds and bytes the solve took on the calling thread
+	 * startTime and startBytes are where the clock and the allocation counter stood when the solve began
+	 * depthHistogram counts the nodes at each depth, or is null when not kept
+	 */
+	private long nodesVisited;
+	private long backtracks;
+	private long eliminations;
+	private long pruned;
+	private int maxDepth;
+	private long wallTime;
+	private long allocatedBytes;
+	private long startTime;
+	private long startBytes;
+	private long[] depthHistogram;
+
+	/**
+	 * SolveMetrics constructor, with every count at zero and no histogram
+	 */
+	public SolveMetrics()
+	{
+		this.allocatedBytes = NOT_MEASURED;
+	}
+
+	/**
+	 * SolveMetrics copy constructor
+	 *
+	 * @param other - the metrics to copy
+	 */
+	public SolveMetrics(SolveMetrics other)
+	{
+		this.nodesVisited = other.nodesVisited;
+		this.backtracks = other.backtracks;
+		this.eliminations = other.eliminations;
+		this.pruned = other.pruned;
+		this.maxDepth = other.maxDepth;
+		this.wallTime = other.wallTime;
+		this.allocatedBytes = other.allocatedBytes;
+		this.depthHistogram = other.depthHistogram == null ? null : other.depthHistogram.clone();
+	}
+
+	/**
+	 * Finds the JVM's per-thread allocation counter, if it has one and it is turned on.
+	 *
+	 * @return the counter, or null
+	 */
+	private static com.sun.management.ThreadMXBean allocationCounter()
+	{
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+			if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled())
+				return counter;
+		}
+		return null;
+	}
+
+	/**
+	 * Turns the per-depth histogram on or off, starting with the next solve.
+	 *
+	 * @param enabled - whether to count the nodes at each depth
+	 */
+	public void setDepthHistogram(boolean enabled)
+	{
+		if (!enabled)
+			depthHistogram = null;
+		else if (depthHistogram == null)
+			depthHistogram = new long[16];
+	}
+
+	/**
+	 * Checks whether the per-depth histogram is kept.
+	 *
+	 * @return whether it is on
+	 */
+	public boolean isDepthHistogramEnabled()
+	{
+		return depthHistogram != null;
+	}
+
+	/**
+	 * Gets the number of guesses placed.
+	 *
+	 * @return the nodes visited
+	 */
+	public long getNodesVisited()
+	{
+		return nodesVisited;
+	}
+
+	/**
+	 * Gets the number of guesses taken back.
+	 *
+	 * @return the backtracks
+	 */
+	public long getBacktracks()
+	{
+		return backtracks;
+	}
+
+	/**
+	 * Gets the number of squares filled by propagation. Searches that do not propagate report 0.
+	 *
+	 * @return the eliminations
+	 */
+	public long getEliminations()
+	{
+		return eliminations;
+	}
+
+	/**
+	 * Gets the number of states given up on because a TranspositionTable knew them to be dead ends. Searches
+	 * without a table report 0.
+	 *
+	 * @return the subtrees pruned
+	 */
+	public long getPruned()
+	{
+		return pruned;
+	}
+
+	/**
+	 * Gets the deepest node reached.
+	 *
+	 * @return the maximum depth
+	 */
+	public int getMaxDepth()
+	{
+		return maxDepth;
+	}
+
+	/**
+	 * Gets the wall time of the solve.
+	 *
+	 * @return the nanoseconds taken
+	 */
+	public long getWallTime()
+	{
+		return wallTime;
+	}
+
+	/**
+	 * Gets the bytes the calling thread allocated during the solve. Work done on other threads
+	 * (by a fork-join solve) is not included.
+	 *
+	 * @return the bytes allocated, or NOT_MEASURED if the JVM cannot tell
+	 */
+	public long getAllocatedBytes()
+	{
+		return allocatedBytes;
+	}
+
+	/**
+	 * Gets the number of nodes at each depth, from depth 1 (the first guess) to the maximum depth.
+	 *
+	 * @return a copy of the histogram (index 0 is depth 1), or null if it was not kept
+	 */
+	public long[] getDepthHistogram()
+	{
+		return depthHistogram == null ? null : Arrays.copyOfRange(depthHistogram, 1, maxDepth + 1);
+	}
+
+	/**
+	 * Starts a solve: clears the counts and starts the clock and the allocation counter.
+	 */
+	void start()
+	{
+		reset();
+		startTime = System.nanoTime();
+		startBytes = THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Finishes a solve: stops the clock and the allocation counter.
+	 */
+	void finish()
+	{
+		wallTime = System.nanoTime() - startTime;
+		allocatedBytes = THREADS == null ? NOT_MEASURED : THREADS.getCurrentThreadAllocatedBytes() - startBytes;
+	}
+
+	/**
+	 * Clears the counts without touching the clock, for work that is timed by someone else.
+	 */
+	void reset()
+	{
+		nodesVisited = 0;
+		backtracks = 0;
+		eliminations = 0;
+		pruned = 0;
+		maxDepth = 0;
+		wallTime = 0;
+		allocatedBytes = NOT_MEASURED;
+		if (depthHistogram != null)
+			Arrays.fill(depthHistogram, 0);
+	}
+
+	/**
+	 * Records a guess.
+	 *
+	 * @param depth - the depth of the node it makes, 1 for the first guess
+	 */
+	void node(int depth)
+	{
+		nodesVisited++;
+		if (depth > maxDepth)
+			maxDepth = depth;
+		if (depthHistogram != null)
+		{
+			if (depth >= depthHistogram.length)
+				depthHistogram = Arrays.copyOf(depthHistogram, Math.max(depth + 1, depthHistogram.length * 2));
+			depthHistogram[depth]++;
+		}
+	}
+
+	/**
+	 * Records a state given up on because it was known to be a dead end.
+	 */
+	void prune()
+	{
+		pruned++;
+	}
+
+	/**
+	 * Records a guess taken back.
+	 */
+	void backtrack()
+	{
+		backtracks++;
+	}
+
+	/**
+	 * Records a square filled by propagation.
+	 */
+	void eliminate()
+	{
+		eliminations++;
+	}
+
+	/**
+	 * Adds the counts of a search that ran below some other search's guesses, like a fork-join branch.
+	 * The time and allocation of the other search are not added.
+	 *
+	 * @param other - the metrics of that search
+	 * @param depth - the depth the other search started at
+	 */
+	void merge(SolveMetrics other, int depth)
+	{
+		nodesVisited += other.nodesVisited;
+		backtracks += other.backtracks;
+		eliminations += other.eliminations;
+		pruned += other.pruned;
+		maxDepth = Math.max(maxDepth, depth + other.maxDepth);
+		if (depthHistogram != null && other.depthHistogram != null)
+		{
+			if (depth + other.maxDepth >= depthHistogram.length)
+				depthHistogram = Arrays.copyOf(depthHistogram, depth + other.maxDepth + 1);
+			for (int i = 1; i <= other.maxDepth; i++)
+				depthHistogram[depth + i] += other.depthHistogram[i];
+		}
+	}
+
+	/**
+	 * Lists the metrics on one line.
+	 *
+	 * @return String - the metrics
+	 */
+	@Override
+	public String toString()
+	{
+		String metrics = "nodes: " + nodesVisited + ", backtracks: " + backtracks + ", eliminations: " + eliminations
+			+ ", max depth: " + maxDepth + ", time: " + String.format("%.3f", wallTime / 1e6) + " ms";
+		if (pruned != 0)
+			metrics += ", pruned: " + pruned;
+		if (allocatedBytes != NOT_MEASURED)
+			metrics += ", allocated: " + allocatedBytes + " bytes";
+		if (depthHistogram != null)
+			metrics += ", nodes per depth: " + Arrays.toString(getDepthHistogram());
+		return metrics;
+	}
+}
@@ -0,0 +1,72 @@
+package Sudoku;
+
+/**
+ * SolveMode enum - represents the different ways the Sudoku program can search for a solution.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public enum SolveMode
+{
+	// BASELINE fills empty squares in row-major order and tries numbers low to high, nothing else.
+	// PROPAGATING fills every forced square after each guess and guesses on the square with the fewest options.
+	// DANCING_LINKS treats the puzzle as an exact cover problem and always branches on the rarest constraint.
+	// FORK_JOIN splits the first few guesses of a propagating search across every core.
+	// PORTFOLIO races several of these searches, in different orders, and takes the first answer.
+	BASELINE, PROPAGATING, DANCING_LINKS, FORK_JOIN, PORTFOLIO;
+
+	/**
+	 * Finds a mode by its command line name, like "dancing-links" (case and - or _ do not matter).
+	 *
+	 * @param name - the name typed by the user
+	 * @return the mode with that name
+	 */
+	public static SolveMode fromName(String name) throws IllegalArgumentException
+	{
+		try
+		{
+			return valueOf(name.toUpperCase().replace('-', '_'));
+		}
+		catch (IllegalArgumentException iae)
+		{
+			throw new IllegalArgumentException("Unknown mode \"" + name + "\", expected one of " + names());
+		}
+	}
+
+	/**
+	 * Lists the command line names of every mode.
+	 *
+	 * @return the names, separated by commas
+	 */
+	public static String names()
+	{
+		String names = "";
+		for (SolveMode mode : values())
+			names += (names.isEmpty() ? "" : ", ") + mode.name().toLowerCase().replace('_', '-');
+		return names;
+	}
+
+	/**
+	 * Creates a new solver of this kind.
+	 *
+	 * @param verbose - whether the solver should show the board on the console as it works, a few times a
+	 *     second (dancing links, fork-join and portfolio never show it)
+	 * @return the new solver
+	 */
+	public SudokuSolver newSolver(boolean verbose)
+	{
+		switch (this)
+		{
+			case BASELINE:
+				return new BacktrackingSolver(verbose);
+			case DANCING_LINKS:
+				return new DancingLinksSolver();
+			case FORK_JOIN:
+				return new ForkJoinSolver();
+			case PORTFOLIO:
+				return new PortfolioSolver();
+			default:
+				return new PropagatingSolver(verbose);
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package Sudoku;
+
+/**
+ * SolveOutcome enum - how a solve under a SolveControl ended.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public enum SolveOutcome
+{
+	// SOLVED means a solution was found and is on the board.
+	// NO_SOLUTION means the whole search ran and found none.
+	// TIMED_OUT means the deadline passed first, and CANCELLED that the search was cancelled first;
+	// either way the board is left with only its starting values.
+	SOLVED, NO_SOLUTION, TIMED_OUT, CANCELLED;
+
+	/**
+	 * Works out the outcome of a search from whether it found a solution and why it stopped.
+	 *
+	 * @param succeeded - whether a solution was found
+	 * @param control - the control the search ran under, or null
+	 * @return the outcome
+	 */
+	static SolveOutcome of(boolean succeeded, SolveControl control)
+	{
+		if (succeeded)
+			return SOLVED;
+		SolveOutcome reason = control == null ? null : control.getStopReason();
+		return reason == null ? NO_SOLUTION : reason;
+	}
+}
@@ -0,0 +1,217 @@
+package Sudoku;
+
+// For talking to the service
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * SolverClient - sends puzzles to a SolverService on this machine and reads back the results.
+ *
+ * One client is one connection, and sends one request at a time; use a client per thread to have several
+ * requests in flight. Results are the service's result lines: a solution, BatchSolver.NO_SOLUTION,
+ * BatchSolver.INVALID, or BatchSolver.TIMEOUT.
+ *
+ * The service writes each result as soon as it has solved the puzzle, so a big request has to be read while
+ * it is still being sent, or both ends fill their socket buffers and wait on each other forever. A request of
+ * more than INLINE_BATCH puzzles is therefore sent from another thread while this one reads the results.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SolverClient implements Closeable
+{
+	/* INLINE_BATCH is the most puzzles sent on the calling thread; their request and results fit in any
+	 *     socket buffer
+	 * SENDERS sends the puzzles of bigger requests
+	 */
+	public static final int INLINE_BATCH = 16;
+	private static final ExecutorService SENDERS = Executors.newCachedThreadPool(task ->
+	{
+		Thread thread = new Thread(task, "solver-client-sender");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/* socket is the connection to the service
+	 * in and out read from and write to it
+	 */
+	private Socket socket;
+	private BufferedReader in;
+	private Writer out;
+
+	/**
+	 * SolverClient constructor - connects to a service on the loopback address.
+	 *
+	 * @param port - the port the service listens on
+	 */
+	public SolverClient(int port) throws IOException
+	{
+		this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+		socket.setTcpNoDelay(true);
+		this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+		this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Solves one puzzle.
+	 *
+	 * @param puzzle - the puzzle line
+	 * @param timeout - the milliseconds the service may spend on it, 0 for no limit
+	 * @return the result line
+	 */
+	public String solve(String puzzle, long timeout) throws IOException
+	{
+		List<String> puzzles = new ArrayList<String>(1);
+		puzzles.add(puzzle);
+		return solveAll(puzzles, timeout).get(0);
+	}
+
+	/**
+	 * Solves many puzzles in one round trip.
+	 *
+	 * @param puzzles - the puzzle lines
+	 * @param timeout - the milliseconds the service may spend on the whole request, 0 for no limit; the
+	 *     puzzles it has no time left for come back as BatchSolver.TIMEOUT
+	 * @return the result lines, in the order of the puzzles
+	 */
+	public List<String> solveAll(List<String> puzzles, long timeout) throws IOException, IllegalArgumentException
+	{
+		if (timeout < 0 || puzzles.size() > SolverService.MAX_BATCH)
+			throw new IllegalArgumentException("Invalid arguments passed into SolverClient.solveAll(List, long)");
+		// a line break inside a puzzle would throw the request out of step, so nothing is sent until all are checked
+		for (String puzzle : puzzles)
+			if (puzzle.indexOf('\n') >= 0 || puzzle.indexOf('\r') >= 0)
+				throw new IllegalArgumentException("Invalid puzzle passed into SolverClient.solveAll(List, long)");
+
+		if (puzzles.size() <= INLINE_BATCH)
+		{
+			send(puzzles, timeout);
+			return receive(puzzles.size());
+		}
+
+		Future<?> sender = SENDERS.submit(() ->
+		{
+			try
+			{
+				send(puzzles, timeout);
+			}
+			catch (IOException ioe)
+			{
+				// closing the connection stops the read below from waiting on results that will never come
+				socket.close();
+				throw ioe;
+			}
+			return null;
+		});
+		List<String> results;
+		try
+		{
+			results = receive(puzzles.size());
+		}
+		catch (IOException ioe)
+		{
+			// the connection is out of step for good; closing it also stops a sender blocked on a full buffer
+			socket.close();
+			throw ioe;
+		}
+
+		// every result has arrived, so the sender has written everything (or failed doing so)
+		boolean interrupted = false;
+		try
+		{
+			while (true)
+			{
+				try
+				{
+					sender.get();
+					return results;
+				}
+				catch (InterruptedException ie)
+				{
+					interrupted = true;
+				}
+			}
+		}
+		catch (ExecutionException ee)
+		{
+			socket.close();
+			throw ee.getCause() instanceof IOException ? (IOException) ee.getCause() : new IOException(ee.getCause());
+		}
+		finally
+		{
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Writes a request.
+	 *
+	 * @param puzzles - the puzzle lines, already checked
+	 * @param timeout - the milliseconds the service may spend on the request
+	 */
+	private void send(List<String> puzzles, long timeout) throws IOException
+	{
+		out.write("SOLVE " + timeout + " " + puzzles.size() + "\n");
+		for (String puzzle : puzzles)
+		{
+			out.write(puzzle);
+			out.write('\n');
+		}
+		out.flush();
+	}
+
+	/**
+	 * Reads the reply to a request.
+	 *
+	 * @param count - the number of puzzles in the request
+	 * @return the result lines, in the order of the puzzles
+	 */
+	private List<String> receive(int count) throws IOException
+	{
+		String header = in.readLine();
+		if (header == null || !header.equals("RESULTS " + count))
+			throw new IOException("The solver service replied " + (header == null ? "nothing" : "\"" + header + "\""));
+
+		List<String> results = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++)
+		{
+			String result = in.readLine();
+			if (result == null)
+				throw new IOException("The solver service closed the connection after " + i + " results");
+			results.add(result);
+		}
+		return results;
+	}
+
+	/**
+	 * Tells the service the connection is done with, and closes it.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			out.write("QUIT\n");
+			out.flush();
+		}
+		finally
+		{
+			socket.close();
+		}
+	}
+}
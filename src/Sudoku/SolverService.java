@@ -0,0 +1,274 @@
+package Sudoku;
+
+// For the socket and the connection threads
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SolverService - a long-running solver that other processes on this machine can send puzzles to, so they pay
+ * for starting a JVM once instead of once per puzzle.
+ *
+ * The service listens on a loopback port only. Each connection is handled on its own thread (a virtual thread
+ * when the JVM has them, Java 21 and up) with its own solver, and can send any number of requests, one after
+ * another. A request is a header line followed by its puzzle lines (see PuzzleFormat):
+ *     SOLVE timeout count - solve count puzzles, giving up on the rest after timeout milliseconds (0 for none)
+ *     QUIT - close the connection
+ * The reply to SOLVE is "RESULTS count" followed by one line per puzzle, in order: its solution, or
+ * "no solution", "invalid" or "timeout". A malformed request gets "ERROR message" and the connection is closed.
+ * Each result is written as soon as its puzzle is solved, before the rest of the request is read, so a client
+ * sending a big request must read the results while it sends. SolverClient speaks this protocol.
+ *
+ * Usage: java Sudoku.SolverService [--port n]
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SolverService implements Closeable
+{
+	/* DEFAULT_PORT is the port used when none is given
+	 * MAX_BATCH is the most puzzles one request can hold
+	 */
+	public static final int DEFAULT_PORT = 7181;
+	public static final int MAX_BATCH = 1 << 20;
+
+	/* server is the listening socket
+	 * connections runs one handler per connection
+	 * statistics adds up the search metrics of every puzzle solved, for JMX
+	 */
+	private ServerSocket server;
+	private ExecutorService connections;
+	private SolverStatistics statistics;
+
+	/**
+	 * SolverService constructor - starts listening on a loopback port. Call serve to accept connections.
+	 *
+	 * @param port - the port, or 0 for any free one
+	 */
+	public SolverService(int port) throws IOException
+	{
+		this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		this.connections = newHandlerExecutor();
+		this.statistics = SolverStatistics.getInstance();
+	}
+
+	/**
+	 * The main method - for running the service until the process is killed.
+	 *
+	 * @param args - command line arguments: an optional --port (0 for any free one)
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int port = DEFAULT_PORT;
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("--port") && i + 1 < args.length)
+			{
+				try
+				{
+					port = Integer.parseInt(args[++i]);
+				}
+				catch (NumberFormatException nfe)
+				{
+					port = -1;
+				}
+			}
+			else
+				port = -1;
+			if (port < 0 || port > 65535)
+			{
+				System.err.println("Usage: java Sudoku.SolverService [--port n]");
+				return;
+			}
+		}
+
+		try (SolverService service = new SolverService(port))
+		{
+			System.err.println("solver service listening on " + service.getAddress() + ":" + service.getPort());
+			service.serve();
+		}
+	}
+
+	/**
+	 * Makes the executor connections are handled on: a virtual thread per connection when the JVM has them,
+	 * and a cached pool of platform threads when it does not.
+	 *
+	 * @return the executor
+	 */
+	private static ExecutorService newHandlerExecutor()
+	{
+		try
+		{
+			// looked up by name so the service still builds and runs on Java 17
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (ReflectiveOperationException roe)
+		{
+			return Executors.newCachedThreadPool(task ->
+			{
+				Thread thread = new Thread(task, "solver-service-connection");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * Accepts connections until the service is closed.
+	 */
+	public void serve() throws IOException
+	{
+		while (!server.isClosed())
+		{
+			Socket socket;
+			try
+			{
+				socket = server.accept();
+			}
+			catch (SocketException se)
+			{
+				// close was called while waiting
+				if (server.isClosed())
+					return;
+				throw se;
+			}
+			connections.execute(() -> handle(socket));
+		}
+	}
+
+	/**
+	 * Gets the port the service listens on.
+	 *
+	 * @return the port
+	 */
+	public int getPort()
+	{
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Gets the address the service listens on, always a loopback address.
+	 *
+	 * @return the address
+	 */
+	public InetAddress getAddress()
+	{
+		return server.getInetAddress();
+	}
+
+	/**
+	 * Stops accepting connections. Connections already open finish the request they are on.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		server.close();
+		connections.shutdown();
+	}
+
+	/**
+	 * Handles one connection: answers its requests until it quits, closes, or sends something malformed.
+	 *
+	 * @param socket - the connection
+	 */
+	private void handle(Socket socket)
+	{
+		PropagatingSolver solver = new PropagatingSolver(false);
+		Matrix[] boards = new Matrix[Matrix.MAX_BOX_SIZE + 1];
+		StringBuilder line = new StringBuilder(PuzzleFormat.LINE_LENGTH + 1);
+		try (socket;
+			BufferedReader in = new BufferedReader(
+				new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			Writer out = new BufferedWriter(
+				new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)))
+		{
+			String header;
+			while ((header = in.readLine()) != null)
+			{
+				String[] words = header.trim().split("\\s+");
+				if (words[0].equals("QUIT"))
+					return;
+
+				long timeout;
+				int count;
+				try
+				{
+					if (words.length != 3 || !words[0].equals("SOLVE"))
+						throw new IllegalArgumentException("expected SOLVE timeout count or QUIT");
+					timeout = Long.parseLong(words[1]);
+					count = Integer.parseInt(words[2]);
+					if (timeout < 0 || count < 0 || count > MAX_BATCH)
+						throw new IllegalArgumentException("timeout and count must be 0 or more, count at most " + MAX_BATCH);
+				}
+				catch (IllegalArgumentException iae)
+				{
+					out.write("ERROR " + iae.getMessage() + "\n");
+					out.flush();
+					return;
+				}
+
+				// every puzzle of the request is solved under the request's deadline
+				SolveControl control = new SolveControl(timeout);
+				out.write("RESULTS " + count + "\n");
+				for (int i = 0; i < count; i++)
+				{
+					String puzzle = in.readLine();
+					if (puzzle == null)
+						return;
+
+					line.setLength(0);
+					solve(puzzle.trim(), solver, boards, control, line);
+					out.append(line);
+				}
+				out.flush();
+			}
+		}
+		catch (IOException ioe)
+		{
+			// the client went away; there is no one left to tell
+		}
+	}
+
+	/**
+	 * Solves one puzzle of a request and appends its result line (with a newline).
+	 *
+	 * @param puzzle - the puzzle line
+	 * @param solver - the connection's solver
+	 * @param boards - the connection's reusable boards, one per box size
+	 * @param control - the request's deadline
+	 * @param out - where to append the result
+	 */
+	private void solve(String puzzle, PropagatingSolver solver, Matrix[] boards, SolveControl control, StringBuilder out)
+	{
+		int boxSize = PuzzleFormat.boxSizeOf(puzzle.length());
+		if (boxSize != 0 && boards[boxSize] == null)
+			boards[boxSize] = new Matrix(boxSize);
+		Matrix board = boxSize == 0 ? null : boards[boxSize];
+
+		if (board == null || !PuzzleFormat.parse(puzzle, board))
+			out.append(BatchSolver.INVALID);
+		else if (control.isStopped())
+			out.append(BatchSolver.TIMEOUT);
+		else
+		{
+			SolveOutcome outcome = solver.solve(board, control);
+			statistics.record(solver.getMetrics(), outcome == SolveOutcome.SOLVED);
+			if (outcome == SolveOutcome.SOLVED)
+				PuzzleFormat.format(board, out);
+			else
+				out.append(outcome == SolveOutcome.NO_SOLUTION ? BatchSolver.NO_SOLUTION : BatchSolver.TIMEOUT);
+		}
+		out.append('\n');
+	}
+}
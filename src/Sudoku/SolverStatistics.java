@@ -0,0 +1,196 @@
+package Sudoku;
+
+// For the counters and for publishing them through JMX
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * SolverStatistics - adds up the SolveMetrics of every puzzle a batch run solves and publishes the totals
+ * through JMX, so a long run can be watched while it works.
+ *
+ * The totals are striped counters (LongAdder), so every worker thread can record its puzzles without
+ * waiting on the others; recording one puzzle costs a handful of uncontended additions, cheap enough to
+ * leave on all the time.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class SolverStatistics implements SolverStatisticsMXBean
+{
+	/* NAME is the JMX name the totals are published under
+	 * instance is the one set of totals for this JVM, made and published the first time it is asked for
+	 */
+	public static final String NAME = "Sudoku:type=SolverStatistics";
+	private static SolverStatistics instance;
+
+	/* puzzles, solved, nodesVisited, backtracks, eliminations, solveTime and allocatedBytes are running totals
+	 * maxDepth is the deepest search seen
+	 * wins counts the races won by each strategy of a PortfolioSolver, by name
+	 */
+	private LongAdder puzzles;
+	private LongAdder solved;
+	private LongAdder nodesVisited;
+	private LongAdder backtracks;
+	private LongAdder eliminations;
+	private LongAdder solveTime;
+	private LongAdder allocatedBytes;
+	private LongAccumulator maxDepth;
+	private ConcurrentHashMap<String, LongAdder> wins;
+
+	/**
+	 * SolverStatistics constructor, with every total at zero
+	 */
+	public SolverStatistics()
+	{
+		this.puzzles = new LongAdder();
+		this.solved = new LongAdder();
+		this.nodesVisited = new LongAdder();
+		this.backtracks = new LongAdder();
+		this.eliminations = new LongAdder();
+		this.solveTime = new LongAdder();
+		this.allocatedBytes = new LongAdder();
+		this.maxDepth = new LongAccumulator(Math::max, 0);
+		this.wins = new ConcurrentHashMap<String, LongAdder>();
+	}
+
+	/**
+	 * Gets the totals for this JVM, publishing them through JMX the first time.
+	 *
+	 * @return the totals
+	 */
+	public static synchronized SolverStatistics getInstance()
+	{
+		if (instance == null)
+		{
+			instance = new SolverStatistics();
+			try
+			{
+				ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(NAME));
+			}
+			catch (JMException jme)
+			{
+				// the totals still work without JMX, they just cannot be watched from outside
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Adds one puzzle to the totals. Safe to call from any thread.
+	 *
+	 * @param metrics - the metrics of its solve
+	 * @param succeeded - whether it had a solution
+	 */
+	public void record(SolveMetrics metrics, boolean succeeded)
+	{
+		puzzles.increment();
+		if (succeeded)
+			solved.increment();
+		nodesVisited.add(metrics.getNodesVisited());
+		backtracks.add(metrics.getBacktracks());
+		eliminations.add(metrics.getEliminations());
+		solveTime.add(metrics.getWallTime());
+		if (metrics.getAllocatedBytes() != SolveMetrics.NOT_MEASURED)
+			allocatedBytes.add(metrics.getAllocatedBytes());
+		maxDepth.accumulate(metrics.getMaxDepth());
+	}
+
+	/**
+	 * Counts a race won by a strategy of a PortfolioSolver. Safe to call from any thread.
+	 *
+	 * @param strategy - the name of the strategy
+	 */
+	public void recordWin(String strategy)
+	{
+		wins.computeIfAbsent(strategy, name -> new LongAdder()).increment();
+	}
+
+	@Override
+	public long getPuzzles()
+	{
+		return puzzles.sum();
+	}
+
+	@Override
+	public long getSolved()
+	{
+		return solved.sum();
+	}
+
+	@Override
+	public long getNodesVisited()
+	{
+		return nodesVisited.sum();
+	}
+
+	@Override
+	public long getBacktracks()
+	{
+		return backtracks.sum();
+	}
+
+	@Override
+	public long getEliminations()
+	{
+		return eliminations.sum();
+	}
+
+	@Override
+	public long getMaxDepth()
+	{
+		return maxDepth.get();
+	}
+
+	@Override
+	public long getSolveTime()
+	{
+		return solveTime.sum();
+	}
+
+	@Override
+	public long getAllocatedBytes()
+	{
+		return allocatedBytes.sum();
+	}
+
+	@Override
+	public Map<String, Long> getPortfolioWins()
+	{
+		Map<String, Long> totals = new TreeMap<String, Long>();
+		for (Map.Entry<String, LongAdder> entry : wins.entrySet())
+			totals.put(entry.getKey(), entry.getValue().sum());
+		return totals;
+	}
+
+	@Override
+	public void reset()
+	{
+		puzzles.reset();
+		solved.reset();
+		nodesVisited.reset();
+		backtracks.reset();
+		eliminations.reset();
+		solveTime.reset();
+		allocatedBytes.reset();
+		maxDepth.reset();
+		wins.clear();
+	}
+
+	/**
+	 * Lists the totals on one line.
+	 *
+	 * @return String - the totals
+	 */
+	@Override
+	public String toString()
+	{
+		return "nodes: " + getNodesVisited() + ", backtracks: " + getBacktracks() + ", eliminations: "
+			+ getEliminations() + ", max depth: " + getMaxDepth();
+	}
+}
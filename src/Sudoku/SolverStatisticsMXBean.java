@@ -0,0 +1,82 @@
+package Sudoku;
+
+// For the portfolio wins
+import java.util.Map;
+
+/**
+ * SolverStatisticsMXBean interface - the running totals of every puzzle solved in this JVM, as seen
+ * through JMX (for example in JConsole or VisualVM, under Sudoku:type=SolverStatistics).
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public interface SolverStatisticsMXBean
+{
+	/**
+	 * Gets the number of puzzles searched. Lines that were not legal puzzles are not counted.
+	 *
+	 * @return the puzzles
+	 */
+	long getPuzzles();
+
+	/**
+	 * Gets the number of puzzles that had a solution.
+	 *
+	 * @return the puzzles solved
+	 */
+	long getSolved();
+
+	/**
+	 * Gets the number of guesses placed, over every puzzle.
+	 *
+	 * @return the nodes visited
+	 */
+	long getNodesVisited();
+
+	/**
+	 * Gets the number of guesses taken back, over every puzzle.
+	 *
+	 * @return the backtracks
+	 */
+	long getBacktracks();
+
+	/**
+	 * Gets the number of squares filled by propagation, over every puzzle.
+	 *
+	 * @return the eliminations
+	 */
+	long getEliminations();
+
+	/**
+	 * Gets the deepest search of any puzzle.
+	 *
+	 * @return the maximum depth
+	 */
+	long getMaxDepth();
+
+	/**
+	 * Gets the time spent solving, over every puzzle.
+	 *
+	 * @return the nanoseconds
+	 */
+	long getSolveTime();
+
+	/**
+	 * Gets the bytes allocated while solving, over every puzzle where it could be measured.
+	 *
+	 * @return the bytes allocated
+	 */
+	long getAllocatedBytes();
+
+	/**
+	 * Gets how many races each strategy of a PortfolioSolver has won, by strategy name.
+	 *
+	 * @return the wins
+	 */
+	Map<String, Long> getPortfolioWins();
+
+	/**
+	 * Sets every total back to zero.
+	 */
+	void reset();
+}
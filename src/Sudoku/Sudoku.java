@@ -13,26 +13,35 @@ public class Sudoku
 {
 	/* DIMENSION represents the number of rows and columns
 	 * EMPTY represents the value used for "empty" cells
+	 * PROGRESS_INTERVAL is the milliseconds between "still searching" lines
 	 * board represents the 9x9 Matrix we will use for our numbers
 	 * kb is a Scanner from System.in to allow user interaction
 	 * verbose allows users to see the steps involved in finding a solution
 	 *     or just the final solution itself
 	 * stepsTaken shows how many unique combinations of numbers the program
 	 * tried before finding the solution
+	 * mode chooses which search is used to find the solution
+	 * metrics describes the search that found the solution
 	 */
 	private static final int DIMENSION = 9;
 	private static final int EMPTY = -1;
+	private static final long PROGRESS_INTERVAL = 5000;
 	private Matrix board;
 	private Scanner kb;
 	private boolean verbose;
 	private int stepsTaken;
+	private SolveMode mode;
+	private SolveMetrics metrics;
 
 	/**
 	 * The Sudoku constructor calls multiple initializing functions
 	 * involving user input
+	 *
+	 * @param mode - the search used to find the solution
 	 */
-	public Sudoku()
+	public Sudoku(SolveMode mode)
 	{
+		this.mode = mode;
 		// Get user input from System.in (keyboard)
 		this.kb = new Scanner(System.in);
 		// User ought to define constraints in the Matrix
@@ -45,170 +54,54 @@ public class Sudoku
 	/**
 	 * The main method - for executing the Sudoku solver program.
 	 *
-	 * @param args - command line arguments (unnecessary)
+	 * @param args - command line arguments (optional: the name of a SolveMode, like "baseline", to choose the search)
 	 */
 	public static void main(String[] args)
 	{
+		// Propagating is the default; baseline is the plain row-major search, kept for comparison
+		SolveMode mode = SolveMode.PROPAGATING;
+		if (args.length > 0)
+		{
+			try
+			{
+				mode = SolveMode.fromName(args[0]);
+			}
+			catch (IllegalArgumentException iae)
+			{
+				System.out.println(iae.getMessage());
+				return;
+			}
+		}
+
 		// Initialize game
-		Sudoku game = new Sudoku();
+		Sudoku game = new Sudoku(mode);
 		// Find answer
-		game.solve(0, 0);
+		game.solve();
 		// Close the input Scanners and end the game
 		game.endGame();
 	}
 
 
 	/**
-	 * An unfortunately complex recursive method for solving the Sudoku puzzle.
+	 * Solves the Sudoku puzzle with the solver chosen by the mode field.
 	 *
-	 * It uses a depth-first-search (DFS) algorithm to see how far it can get with one number
-	 * in one square, and if it doesn't find a complete solution, it tries another number, until
-	 * it finds no solution and it "clears" the square again and moves back up one recursive level.
-	 * Then, the square behind it will exhaust its options, etc.
-	 *
-	 * @param row - the row of the index currently being tried with possible answers
-	 * @param col - the column of the index currently being tried with possible answers
-	 * @return boolean - whether a solution was found in this pathway
+	 * @return boolean - whether a solution was found
 	 */
-	private boolean solve(int row, int col)
+	private boolean solve()
 	{
-		// allows user to see each step taken to solve the puzzle
-		if (verbose)
-			System.out.println(board);
-
-		// this would mean all squares have been solved, so recursion ends
-		if (row == 9 && col == 0)
-			return true;
+		SudokuSolver solver = mode.newSolver(verbose);
+		// users watching every step also get the number of guesses made at each depth
+		solver.getMetrics().setDepthHistogram(verbose);
 
-		// Check if we're looking at an empty cell
-		if (board.getGivenInformation()[row][col] == EMPTY)
-		{
-			// If we are, try the lowest possible value and recurse
-			// succeeded - holds whether or not a final solution was found on the path followed
-			boolean succeeded = false;
-
-			// This code is very repetitive. To be fixed later
-			// trying one in the current space
-			if (isAllowed(row, col, 1))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 1);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// trying two
-			if (isAllowed(row, col, 2))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 2);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// trying three
-			if (isAllowed(row, col, 3))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 3);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// trying four
-			if (isAllowed(row, col, 4))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 4);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// trying five
-			if (isAllowed(row, col, 5))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 5);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// trying six
-			if (isAllowed(row, col, 6))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 6);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// trying seven
-			if (isAllowed(row, col, 7))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 7);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// trying eight
-			if (isAllowed(row, col, 8))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 8);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// trying nine
-			if (isAllowed(row, col, 9))
-			{
-				stepsTaken++;
-				board.setAt(row, col, 9);
-				if (col < 8)
-					succeeded = solve(row, col + 1);
-				else
-					succeeded = solve(row + 1, 0);
-				if (succeeded)
-					return true;
-			}
-			// this means no solution was found
-			// clear the current square
-			board.setAt(row, col, EMPTY);
-			return false;
-		}
-		else
-		{
-			// If we aren't in an empty square, try again on the next square
-			if (col < 8)
-				return solve(row, col + 1);
-			else
-				return solve(row + 1, 0);
-		}
+		// users not watching the board still hear that a long search is going on
+		SolveControl control = new SolveControl();
+		if (!verbose)
+			control.setProgressListener(progress -> System.out.printf("still searching: %d nodes, %.0f s%n",
+				progress.getNodesVisited(), progress.getElapsedTime() / 1e9), PROGRESS_INTERVAL);
+		boolean succeeded = solver.solve(board, control) == SolveOutcome.SOLVED;
+		stepsTaken = solver.getStepsTaken();
+		metrics = solver.getMetrics();
+		return succeeded;
 	}
 
 	/**
@@ -218,20 +111,10 @@ public class Sudoku
 	 */
 	private Matrix getMatrixFromUser()
 	{
-		// A 2d array to store immutable information (NOT CHANGEABLE BY SOLVER)
-		int[][] givenInformation = new int[DIMENSION][DIMENSION];
-
-		// Clearing (setting to -1) all values in this immutable values array for now
-		// until user can define them himself/herself
-		for (int rowIndex = 0; rowIndex < givenInformation.length; rowIndex++)
-			for (int colIndex = 0; colIndex < givenInformation[rowIndex].length; colIndex++)
-				givenInformation[rowIndex][colIndex] = EMPTY;
-
-		// createdMatrix and board are synonymous (will be corrected later)
-		Matrix createdMatrix = new Matrix(givenInformation);
-		
-		// to be corrected later
-		this.board = createdMatrix;
+		// The editor keeps the allowed numbers of every square up to date as the user types,
+		// and remembers every change so it can be undone
+		BoardEditor editor = new BoardEditor(Matrix.DEFAULT_BOX_SIZE);
+		Matrix createdMatrix = new Matrix();
 
 		// explaining to user
 		System.out.println("Input known information");
@@ -239,6 +122,7 @@ public class Sudoku
 		System.out.println("Example: 6,3,8");
 		System.out.println("All three input numbers must be between 1 and 9. -1 is also permitted to \"clear\" an input.");
 		System.out.println("Type \"print\" to view the current state of the sudoku board.");
+		System.out.println("Type \"undo\" or \"redo\" to take back or repeat a change, and \"hint\" for the square with the fewest options.");
 		System.out.println("Enter information change commands as described, or type \"done\" to continue.");
 
 		// boolean to break out of while loop when ready
@@ -259,7 +143,21 @@ public class Sudoku
 			
 			// if user wants to see the current state of the board
 			else if (userResponse.equals("print"))
+			{
+				editor.copyTo(createdMatrix);
 				System.out.println(createdMatrix);
+			}
+
+			// if user wants to take back or repeat a change
+			else if (userResponse.equals("undo") || userResponse.equals("redo"))
+			{
+				if (!(userResponse.equals("undo") ? editor.undo() : editor.redo()))
+					System.out.println("Nothing to " + userResponse);
+			}
+
+			// if user wants to know where to look next
+			else if (userResponse.equals("hint"))
+				printHint(editor);
 			
 			// if user gave valid input
 			else if ((userResponse.length() == 5 || userResponse.length() == 6) && userResponse.charAt(1) == ',' && userResponse.charAt(3) == ',')
@@ -289,8 +187,12 @@ public class Sudoku
 
 					else
 					{
-						if (isAllowed(userResponseNums[0] - 1, userResponseNums[1] - 1, userResponseNums[2]))
-							createdMatrix.setGivenInformationAt(userResponseNums[0] - 1, userResponseNums[1] - 1, userResponseNums[2]);
+						int row = userResponseNums[0] - 1;
+						int col = userResponseNums[1] - 1;
+						int val = userResponseNums[2];
+						// the editor already knows the numbers each square can take, so nothing is rescanned
+						if (val == EMPTY || editor.isCandidate(row, col, val))
+							editor.set(row, col, val);
 						
 						else
 							System.out.println("Value unusable in this space");
@@ -302,16 +204,45 @@ public class Sudoku
 			else
 				System.out.println("Invalid input, please try again");
 		}
+
+		editor.copyTo(createdMatrix);
 		return createdMatrix;
 	}
 
+	/**
+	 * Tells the user which empty square has the fewest numbers left that could go in it.
+	 *
+	 * @param editor - the board being filled in
+	 */
+	private void printHint(BoardEditor editor)
+	{
+		int square = editor.getHint();
+		if (square == -1)
+		{
+			System.out.println("Every square is filled");
+			return;
+		}
+
+		int row = square / DIMENSION;
+		int col = square % DIMENSION;
+		StringBuilder options = new StringBuilder();
+		for (int val = 1; val <= DIMENSION; val++)
+			if (editor.isCandidate(row, col, val))
+				options.append(options.length() == 0 ? "" : ", ").append(val);
+		if (options.length() == 0)
+			System.out.println("Row " + (row + 1) + ", column " + (col + 1) + " has no options left; something entered is wrong");
+		else
+			System.out.println("Row " + (row + 1) + ", column " + (col + 1) + " can only be " + options);
+	}
+
 	/**
 	 * Interacts with the user and asks whether he/she wants to see every step the program took
 	 * to solve the puzzle.
 	 */
 	private void userDecideVerbose()
 	{
-		System.out.println("Would you like to see each attempted step to solve the game?");
+		System.out.println("Would you like to watch the board while the game is solved ("
+			+ 1000 / BoardTrace.DEFAULT_INTERVAL + " boards per second)?");
 		boolean validResponse = false;
 		while (!validResponse)
 		{
@@ -346,6 +277,8 @@ public class Sudoku
 		System.out.println(board);
 		System.out.println("Game complete.");
 		System.out.println("steps taken: " + stepsTaken);
+		if (metrics != null)
+			System.out.println(metrics);
 		this.kb.close();
 	}
 
@@ -353,39 +286,27 @@ public class Sudoku
 	 * Examines whether a particular value at a particular row and column index would be permissible
 	 * knowing the current state of the board.
 	 *
+	 * @param board - the board the value would be placed on
 	 * @param row - the row index of the potential value
 	 * @param col - the column index of the potential value
 	 * @param val - the value that you are attempting to place in that index
 	 * @return boolean - whether or not that value at that index is permissible
 	 */
-	private boolean isAllowed(int row, int col, int val) throws IllegalArgumentException
+	static boolean isAllowed(Matrix board, int row, int col, int val) throws IllegalArgumentException
 	{
 		// Need to be sure the function is not called with parameters that would try to access outside the board
-		// or plug in a value that isn't 1-9
-		if (row < 0 || col < 0 || (val < 1 && val != EMPTY) || row > 8 || col > 8 || val > 9)
-			throw new IllegalArgumentException("Illegal indeces or value passed in Sudoku.isAllowed(int,int,int)");
-
-		/* valIsLegal  - a variable to remember whether, to the current knowledge of the method, the value being
-		 *     tested at that index is legal.
-		 * rowToCheck  - an array of values currently in the same row as the potential new one
-		 * colToCheck  - an array of values currently in the same column as the potential new one
-		 * cellToCheck - an array of values currently in the same cell as the potential new one
-		 */
-		boolean valIsLegal = true;
-		int[] rowToCheck = board.getRowAt(row);
-		int[] colToCheck = board.getColAt(col);
-		int[] cellToCheck = board.getCellAt(row, col);
+		// or plug in a value that isn't 1 to the board's dimension
+		int dimension = board.getDimension();
+		if (row < 0 || col < 0 || (val < 1 && val != EMPTY) || row >= dimension || col >= dimension || val > dimension)
+			throw new IllegalArgumentException("Illegal indeces or value passed in Sudoku.isAllowed(Matrix,int,int,int)");
 
 		// If val == EMPTY (-1), it should always be legal
 		if (val == EMPTY)
-			return valIsLegal;
-
-		// Ensuring that the value passed is not in conflict with any already in its row, column, or cell
-		for (int i = 0; i < DIMENSION; i++)
-			if (rowToCheck[i] == val || colToCheck[i] == val || cellToCheck[i] == val)
-				valIsLegal = false;
+			return true;
 
-		return valIsLegal;
+		// The board keeps bitmasks of the digits used in every row, column, and box,
+		// so this check doesn't need to copy or scan anything
+		return board.isCandidate(row, col, val);
 	}
 }
 
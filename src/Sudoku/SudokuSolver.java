@@ -0,0 +1,47 @@
+package Sudoku;
+
+/**
+ * SudokuSolver interface - a search strategy that can fill in a Matrix.
+ *
+ * Solvers work on the Matrix passed in, so the same solver object can be reused for many boards,
+ * one at a time.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public interface SudokuSolver
+{
+	/**
+	 * Fills every empty square of the board. If there is no solution, the board is left with
+	 * only the values it started with.
+	 *
+	 * @param board - the Matrix to solve in place
+	 * @return boolean - whether a solution was found
+	 */
+	boolean solve(Matrix board);
+
+	/**
+	 * Fills every empty square of the board, unless the control stops the search first. The control is
+	 * checked at every node of the search.
+	 *
+	 * @param board - the Matrix to solve in place
+	 * @param control - the deadline, cancellation and progress listener of this solve, or null for none
+	 * @return the outcome; unless it is SOLVED, the board is left with only the values it started with, and
+	 *     getMetrics describes the search up to where it stopped
+	 */
+	SolveOutcome solve(Matrix board, SolveControl control);
+
+	/**
+	 * Gets the number of steps taken during the last solve. Each strategy counts the numbers it placed.
+	 *
+	 * @return the number of steps taken
+	 */
+	int getStepsTaken();
+
+	/**
+	 * Gets the metrics of the last solve (or count). The same object is filled in again by every solve.
+	 *
+	 * @return the metrics
+	 */
+	SolveMetrics getMetrics();
+}
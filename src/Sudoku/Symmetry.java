@@ -0,0 +1,39 @@
+package Sudoku;
+
+/**
+ * Symmetry enum - represents the patterns the clues of a generated puzzle can follow.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public enum Symmetry
+{
+	// NONE removes clues one square at a time, with no pattern.
+	// ROTATIONAL keeps the clues the same when the grid is turned half way around.
+	// HORIZONTAL keeps the clues the same when the grid is flipped top to bottom.
+	// VERTICAL keeps the clues the same when the grid is flipped left to right.
+	NONE, ROTATIONAL, HORIZONTAL, VERTICAL;
+
+	/**
+	 * Finds the square that must be removed together with a square to keep this pattern.
+	 *
+	 * @param cell - the flat index of a square, row * 9 + col
+	 * @return the flat index of its partner (the square itself if it is its own partner)
+	 */
+	public int partner(int cell)
+	{
+		int row = cell / 9;
+		int col = cell % 9;
+		switch (this)
+		{
+			case ROTATIONAL:
+				return (8 - row) * 9 + (8 - col);
+			case HORIZONTAL:
+				return (8 - row) * 9 + col;
+			case VERTICAL:
+				return row * 9 + (8 - col);
+			default:
+				return cell;
+		}
+	}
+}
@@ -0,0 +1,262 @@
+package Sudoku;
+
+// For emptying the table
+import java.util.Arrays;
+
+/**
+ * TranspositionTable - remembers board states a search has proved to be dead ends, so a search that reaches
+ * one again by a different path can give up on it at once instead of proving it all over again.
+ *
+ * States are known by their Matrix hash (a 64-bit Zobrist hash), and only the hash is kept, so two states
+ * would only be confused if their hashes were equal, which for the states of one run is vanishingly unlikely.
+ * A dead state is dead whatever puzzle it came from, so one table can be kept for a whole batch.
+ *
+ * The table takes a fixed amount of memory, chosen when it is made. It is split into buckets of BUCKET_SIZE
+ * entries, and a state can only go in the bucket its hash picks; when that bucket is full, the eviction
+ * policy decides which entry makes room. Each entry costs ENTRY_BYTES bytes. A table is used by one thread
+ * at a time.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+public class TranspositionTable
+{
+	/* ENTRY_BYTES is the memory one entry takes: its hash and its work (OLDEST adds 8 bytes for its age)
+	 * BUCKET_SIZE is the number of entries a state can go in (a power of two)
+	 * EMPTY_KEY marks an entry holding no state (a state whose hash is EMPTY_KEY is kept as 1 instead)
+	 */
+	public static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+	private static final int BUCKET_SIZE = 4;
+	private static final long EMPTY_KEY = 0;
+
+	/**
+	 * Eviction enum - which entry of a full bucket makes room for a new state.
+	 */
+	public enum Eviction
+	{
+		// OLDEST drops the state stored longest ago.
+		// CHEAPEST drops the state that took the fewest guesses to prove dead, as it is the cheapest to prove again.
+		OLDEST, CHEAPEST
+	}
+
+	/* keys holds the hash of the state in each entry, or EMPTY_KEY
+	 * work holds the guesses it took to prove each state dead
+	 * age holds, for OLDEST, when each entry was stored (the stores count at the time)
+	 * mask picks a bucket from a hash
+	 * eviction is the eviction policy
+	 * lookups, hits, stores and evictions count what the table has done since it was made or cleared,
+	 *     and size is the number of entries in use
+	 */
+	private long[] keys;
+	private int[] work;
+	private long[] age;
+	private int mask;
+	private Eviction eviction;
+	private long lookups;
+	private long hits;
+	private long stores;
+	private long evictions;
+	private int size;
+
+	/**
+	 * TranspositionTable constructor
+	 *
+	 * @param bytes - the most memory the entries may take, at least BUCKET_SIZE * ENTRY_BYTES; the table
+	 *     uses the largest power of two of buckets that fits
+	 * @param eviction - which entry makes room when a bucket is full
+	 */
+	public TranspositionTable(long bytes, Eviction eviction) throws IllegalArgumentException
+	{
+		if (bytes < BUCKET_SIZE * ENTRY_BYTES || eviction == null)
+			throw new IllegalArgumentException("Invalid arguments passed into TranspositionTable(long, Eviction)");
+
+		// the OLDEST policy needs an age per entry as well
+		long entryBytes = ENTRY_BYTES + (eviction == Eviction.OLDEST ? Long.BYTES : 0);
+		long buckets = Long.highestOneBit(Math.max(1, bytes / entryBytes / BUCKET_SIZE));
+		buckets = Math.min(buckets, Integer.highestOneBit(Integer.MAX_VALUE / BUCKET_SIZE));
+		int entries = (int) buckets * BUCKET_SIZE;
+
+		this.keys = new long[entries];
+		this.work = new int[entries];
+		this.age = eviction == Eviction.OLDEST ? new long[entries] : null;
+		this.mask = (int) buckets - 1;
+		this.eviction = eviction;
+	}
+
+	/**
+	 * Checks whether a state is known to be a dead end.
+	 *
+	 * @param hash - the hash of the state
+	 * @return whether it is
+	 */
+	public boolean contains(long hash)
+	{
+		lookups++;
+		long key = keyOf(hash);
+		int bucket = bucketOf(key);
+		for (int entry = bucket; entry < bucket + BUCKET_SIZE; entry++)
+			if (keys[entry] == key)
+			{
+				hits++;
+				return true;
+			}
+		return false;
+	}
+
+	/**
+	 * Remembers a state as a dead end, making room for it if its bucket is full.
+	 *
+	 * @param hash - the hash of the state
+	 * @param guesses - the guesses it took to prove the state dead
+	 */
+	public void add(long hash, long guesses)
+	{
+		long key = keyOf(hash);
+		int bucket = bucketOf(key);
+		int cost = (int) Math.min(Integer.MAX_VALUE, guesses);
+		stores++;
+
+		int victim = -1;
+		for (int entry = bucket; entry < bucket + BUCKET_SIZE; entry++)
+		{
+			if (keys[entry] == key || keys[entry] == EMPTY_KEY)
+			{
+				if (keys[entry] == EMPTY_KEY)
+					size++;
+				store(entry, key, cost);
+				return;
+			}
+			if (victim == -1 || (eviction == Eviction.OLDEST ? age[entry] < age[victim] : work[entry] < work[victim]))
+				victim = entry;
+		}
+
+		// the bucket is full
+		evictions++;
+		store(victim, key, cost);
+	}
+
+	/**
+	 * Forgets every state and sets the counts back to zero.
+	 */
+	public void clear()
+	{
+		Arrays.fill(keys, EMPTY_KEY);
+		lookups = 0;
+		hits = 0;
+		stores = 0;
+		evictions = 0;
+		size = 0;
+	}
+
+	/**
+	 * Gets the number of states looked up.
+	 *
+	 * @return the lookups
+	 */
+	public long getLookups()
+	{
+		return lookups;
+	}
+
+	/**
+	 * Gets the number of lookups that found a dead end, in other words the subtrees the search did not have to
+	 * search.
+	 *
+	 * @return the subtrees pruned
+	 */
+	public long getHits()
+	{
+		return hits;
+	}
+
+	/**
+	 * Gets the number of dead ends stored.
+	 *
+	 * @return the stores
+	 */
+	public long getStores()
+	{
+		return stores;
+	}
+
+	/**
+	 * Gets the number of states dropped to make room for others.
+	 *
+	 * @return the evictions
+	 */
+	public long getEvictions()
+	{
+		return evictions;
+	}
+
+	/**
+	 * Gets the number of states held.
+	 *
+	 * @return the size
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets the most states the table can hold.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity()
+	{
+		return keys.length;
+	}
+
+	/**
+	 * Lists the counts on one line.
+	 *
+	 * @return String - the counts
+	 */
+	@Override
+	public String toString()
+	{
+		return "pruned " + hits + " subtrees in " + lookups + " lookups, " + size + " of " + keys.length
+			+ " entries used, " + evictions + " evictions";
+	}
+
+	/**
+	 * Fills an entry.
+	 *
+	 * @param entry - the index of the entry
+	 * @param key - the key of the state
+	 * @param cost - the guesses it took to prove the state dead
+	 */
+	private void store(int entry, long key, int cost)
+	{
+		// a state proved dead again keeps the larger of its costs
+		work[entry] = keys[entry] == key ? Math.max(work[entry], cost) : cost;
+		keys[entry] = key;
+		if (age != null)
+			age[entry] = stores;
+	}
+
+	/**
+	 * Turns a hash into the key it is kept under, which is never EMPTY_KEY.
+	 *
+	 * @param hash - the hash of a state
+	 * @return the key
+	 */
+	private static long keyOf(long hash)
+	{
+		return hash == EMPTY_KEY ? 1 : hash;
+	}
+
+	/**
+	 * Finds the first entry of the bucket a key goes in.
+	 *
+	 * @param key - the key
+	 * @return the index of the entry
+	 */
+	private int bucketOf(long key)
+	{
+		// both halves of the hash pick the bucket
+		return (int) ((key ^ key >>> 32) & mask) * BUCKET_SIZE;
+	}
+}
@@ -0,0 +1,132 @@
+package Sudoku;
+
+// For the Vector API (an incubator module: build and run with --add-modules jdk.incubator.vector)
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorBoardKernel - the BoardKernel that works on as many boards at once as a vector holds ints.
+ *
+ * Each lane of a vector is one board of the batch. Because a BoardBatch keeps the same square of every
+ * board together, one load brings in that square of a whole vector of boards, and the masks of a unit are
+ * ORed together lane by lane. Only made through BoardKernel.getInstance, and only when the module is there.
+ *
+ * @author Nathan Jobe
+ * @version 10/18/2026
+ */
+class VectorBoardKernel implements BoardKernel
+{
+	/* SPECIES is the widest vector of ints the processor handles well; its lane count divides
+	 * BoardBatch.LANE_MULTIPLE, so a batch always holds whole vectors
+	 * LANES is its number of lanes
+	 */
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+	private static final int LANES = SPECIES.length();
+
+	@Override
+	public void candidates(BoardBatch boards, int[] masks)
+	{
+		ScalarBoardKernel.check(boards, null, masks.length,
+			(long) boards.getDimension() * boards.getDimension() * boards.getCapacity(),
+			"VectorBoardKernel.candidates(BoardBatch, int[])");
+
+		int dimension = boards.getDimension();
+		int boxSize = boards.getBoxSize();
+		int capacity = boards.getCapacity();
+		int[] values = boards.values();
+		int[][] units = PropagatingSolver.buildUnits(boxSize);
+		IntVector allDigits = IntVector.broadcast(SPECIES, (1 << dimension) - 1);
+		// the used numbers of every unit, a vector of lanes per unit
+		int[] used = new int[units.length * LANES];
+
+		for (int base = 0; base < boards.size(); base += LANES)
+		{
+			for (int unit = 0; unit < units.length; unit++)
+				usedIn(units[unit], values, capacity, base).intoArray(used, unit * LANES);
+
+			for (int square = 0; square < dimension * dimension; square++)
+			{
+				int row = square / dimension;
+				int col = square % dimension;
+				int box = (row / boxSize) * boxSize + col / boxSize;
+				IntVector.fromArray(SPECIES, used, row * LANES)
+					.or(IntVector.fromArray(SPECIES, used, (dimension + col) * LANES))
+					.or(IntVector.fromArray(SPECIES, used, (2 * dimension + box) * LANES))
+					.not()
+					.and(allDigits)
+					.intoArray(masks, square * capacity + base);
+			}
+		}
+	}
+
+	@Override
+	public void validate(BoardBatch solutions, BoardBatch puzzles, boolean[] valid)
+	{
+		ScalarBoardKernel.check(solutions, puzzles, valid.length, solutions.size(),
+			"VectorBoardKernel.validate(BoardBatch, BoardBatch, boolean[])");
+
+		int dimension = solutions.getDimension();
+		int capacity = solutions.getCapacity();
+		int allDigits = (1 << dimension) - 1;
+		int[] values = solutions.values();
+		int[] givens = puzzles == null ? null : puzzles.values();
+		int[][] units = PropagatingSolver.buildUnits(solutions.getBoxSize());
+
+		for (int base = 0; base < solutions.size(); base += LANES)
+		{
+			// bad has a bit set in the lane of every board found to be wrong
+			IntVector bad = IntVector.zero(SPECIES);
+
+			// a unit of dimension squares holds every number exactly when it is full and has no repeats
+			for (int[] unit : units)
+				bad = bad.or(usedIn(unit, values, capacity, base).lanewise(VectorOperators.XOR, allDigits));
+
+			if (givens != null)
+			{
+				IntVector one = IntVector.broadcast(SPECIES, 1);
+				for (int square = 0; square < dimension * dimension; square++)
+				{
+					// the bit of a given number that is not the number placed (an empty given has no bit)
+					IntVector given = IntVector.fromArray(SPECIES, givens, square * capacity + base);
+					IntVector placed = IntVector.fromArray(SPECIES, values, square * capacity + base);
+					bad = bad.or(one.lanewise(VectorOperators.LSHL, given).lanewise(VectorOperators.LSHR, 1)
+						.and(one.lanewise(VectorOperators.LSHL, placed).lanewise(VectorOperators.LSHR, 1).not()));
+				}
+			}
+
+			VectorMask<Integer> correct = bad.compare(VectorOperators.EQ, 0);
+			for (int lane = 0; lane < LANES && base + lane < solutions.size(); lane++)
+				valid[base + lane] = correct.laneIsSet(lane);
+		}
+	}
+
+	@Override
+	public String getName()
+	{
+		return "vector (" + LANES + " lanes)";
+	}
+
+	/**
+	 * Finds the numbers used in one unit of a vector of boards.
+	 *
+	 * @param unit - the squares of the unit
+	 * @param values - the numbers of the batch
+	 * @param capacity - the capacity of the batch
+	 * @param base - the index of the board in the first lane
+	 * @return the bitmask of the numbers used, per lane
+	 */
+	private static IntVector usedIn(int[] unit, int[] values, int capacity, int base)
+	{
+		IntVector one = IntVector.broadcast(SPECIES, 1);
+		IntVector used = IntVector.zero(SPECIES);
+		for (int square : unit)
+		{
+			// (1 << val) >>> 1 is the bit of val, and 0 for an empty square
+			IntVector val = IntVector.fromArray(SPECIES, values, square * capacity + base);
+			used = used.or(one.lanewise(VectorOperators.LSHL, val).lanewise(VectorOperators.LSHR, 1));
+		}
+		return used;
+	}
+}